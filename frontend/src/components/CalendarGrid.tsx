@@ -20,12 +20,14 @@ interface CalendarGridProps {
     swimlanes?: { id: string, name: string }[];
     onEventClick?: (event: CalendarEvent) => void;
     onDateClick?: (date: Date, professionalId?: string) => void;
+    // Called with the visible [from, to) interval whenever it changes
+    onRangeChange?: (from: Date, to: Date) => void;
 }
 
 const HOURS = Array.from({ length: 16 }, (_, i) => i + 7); // 7:00 to 22:00
 const HOUR_HEIGHT = 80; // pixels per hour
 
-export default function CalendarGrid({ events, swimlanes, onEventClick, onDateClick }: CalendarGridProps) {
+export default function CalendarGrid({ events, swimlanes, onEventClick, onDateClick, onRangeChange }: CalendarGridProps) {
     const [currentDate, setCurrentDate] = useState(new Date());
     const [viewMode, setViewMode] = useState<'day' | 'week'>('day');
     const [currentTime, setCurrentTime] = useState(new Date());
@@ -45,6 +47,10 @@ export default function CalendarGrid({ events, swimlanes, onEventClick, onDateCl
         return Array.from({ length: 7 }, (_, i) => addDays(start, i));
     }, [currentDate, viewMode]);
 
+    useEffect(() => {
+        onRangeChange?.(startOfDay(daysToRender[0]), addDays(startOfDay(daysToRender[daysToRender.length - 1]), 1));
+    }, [daysToRender, onRangeChange]);
+
     const columnsToRender = useMemo(() => {
         if (viewMode === 'day' && swimlanes && swimlanes.length > 0) {
             return swimlanes.map(s => ({
@@ -1,4 +1,6 @@
-import { useQuery } from '@tanstack/react-query';
+import { useCallback, useState } from 'react';
+import { keepPreviousData, useQuery } from '@tanstack/react-query';
+import { addDays, format, startOfDay } from 'date-fns';
 import { useTranslation } from 'react-i18next';
 import api from '@/api/axios';
 import { Button } from '@/components/ui/button';
@@ -16,12 +18,25 @@ interface AppointmentResponse {
     status: 'SCHEDULED' | 'CONFIRMED' | 'CANCELED' | 'BLOCKED' | 'COMPLETED';
 }
 
+// LocalDateTime as the API expects it, without a zone offset
+const toApiDateTime = (date: Date) => format(date, "yyyy-MM-dd'T'HH:mm:ss");
+
 export default function MyAppointments() {
     const { t } = useTranslation();
     const { user } = useAuth();
 
     const isOwner = user?.role === 'OWNER';
 
+    const [range, setRange] = useState(() => {
+        const today = startOfDay(new Date());
+        return { from: today, to: addDays(today, 1) };
+    });
+    const onRangeChange = useCallback((from: Date, to: Date) => {
+        setRange(prev => prev.from.getTime() === from.getTime() && prev.to.getTime() === to.getTime()
+            ? prev
+            : { from, to });
+    }, []);
+
     const { data: professionals } = useQuery<any[]>({
         queryKey: ['professionals'],
         queryFn: async () => {
@@ -41,11 +56,22 @@ export default function MyAppointments() {
     });
 
     const { data: rawAppointments, isLoading, error } = useQuery<AppointmentResponse[]>({
-        queryKey: ['appointments'],
+        queryKey: ['appointments', range.from.getTime(), range.to.getTime()],
         queryFn: async () => {
-            const response = await api.get('/appointments');
-            return response.data;
+            // The listing is paged; follow the cursor until the visible range is complete
+            const appointments: AppointmentResponse[] = [];
+            let cursor: string | undefined;
+            do {
+                const response = await api.get<AppointmentResponse[]>('/appointments', {
+                    params: { from: toApiDateTime(range.from), to: toApiDateTime(range.to), cursor },
+                });
+                appointments.push(...response.data);
+                cursor = response.headers['x-next-cursor'];
+            } while (cursor);
+            return appointments;
         },
+        // Keeps the calendar mounted, and its position, while another range loads
+        placeholderData: keepPreviousData,
     });
 
     if (isLoading) return <div className="p-8">Loading appointments...</div>;
@@ -89,6 +115,7 @@ export default function MyAppointments() {
                 events={events}
                 swimlanes={swimlanes}
                 onEventClick={(evt) => console.log('Clicked event', evt)}
+                onRangeChange={onRangeChange}
                 onDateClick={(date, professionalId) => {
                     // Navigate to creation modal or page with pre-filled date & prof
                     let url = `/admin/appointments/new?date=${date.toISOString()}`;
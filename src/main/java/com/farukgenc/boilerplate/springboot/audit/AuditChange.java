@@ -0,0 +1,28 @@
+package com.farukgenc.boilerplate.springboot.audit;
+
+import jakarta.persistence.Entity;
+import org.hibernate.proxy.HibernateProxy;
+
+/**
+ * Old and new value of one property in an UPDATE audit record, exactly as
+ * found in Hibernate's loaded and current state arrays.
+ */
+record AuditChange(Object oldValue, Object newValue) {
+
+    Object loggableOld() {
+        return loggable(oldValue);
+    }
+
+    Object loggableNew() {
+        return loggable(newValue);
+    }
+
+    // Associations are logged by id; serializing the entity could load lazy state
+    private static Object loggable(Object value) {
+        if (value instanceof HibernateProxy
+                || value != null && value.getClass().isAnnotationPresent(Entity.class)) {
+            return AuditedType.of(value).entityId(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,75 @@
+package com.farukgenc.boilerplate.springboot.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records UPDATE audits together with the changed properties, taken from the
+ * loaded and current state arrays Hibernate already compared while flushing.
+ * No query is issued and nothing is serialized here; {@link AuditLogWriter}
+ * turns the changes into JSON when it writes the record.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditChangeListener implements PostUpdateEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!AuditedType.of(event.getEntity()).audited()) {
+            return;
+        }
+        AuditEntityListener.saveAudit(event.getEntity(), "UPDATE", changes(event));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static Map<String, AuditChange> changes(PostUpdateEvent event) {
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        // Without a loaded snapshot, e.g. for a merged detached entity, only the fact of the update is known
+        if (oldState == null) {
+            return null;
+        }
+
+        String[] names = event.getPersister().getPropertyNames();
+        Map<String, AuditChange> changes = new LinkedHashMap<>();
+        int[] dirty = event.getDirtyProperties();
+        if (dirty != null) {
+            for (int i : dirty) {
+                changes.put(names[i], new AuditChange(oldState[i], state[i]));
+            }
+        } else {
+            for (int i = 0; i < names.length; i++) {
+                if (!Objects.equals(oldState[i], state[i])) {
+                    changes.put(names[i], new AuditChange(oldState[i], state[i]));
+                }
+            }
+        }
+        return changes;
+    }
+}
@@ -1,13 +1,8 @@
 package com.farukgenc.boilerplate.springboot.audit;
 
-import com.farukgenc.boilerplate.springboot.model.AuditLog;
 import com.farukgenc.boilerplate.springboot.model.BaseTenantEntity;
-import com.farukgenc.boilerplate.springboot.repository.AuditLogRepository;
-import com.farukgenc.boilerplate.springboot.security.service.UserServiceImpl;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreRemove;
-import jakarta.persistence.PreUpdate;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -16,6 +11,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -27,11 +23,11 @@ public class AuditEntityListener {
     // We can use a static accessor or bean provider context, or @Autowired on field
     // (works in Spring managed listeners)
 
-    private static AuditLogRepository auditLogRepository;
+    private static AuditLogWriter auditLogWriter;
 
     @Autowired
-    public void setAuditLogRepository(@Lazy AuditLogRepository repository) {
-        AuditEntityListener.auditLogRepository = repository;
+    public void setAuditLogWriter(@Lazy AuditLogWriter writer) {
+        AuditEntityListener.auditLogWriter = writer;
     }
 
     @PrePersist
@@ -39,60 +35,36 @@ public class AuditEntityListener {
         saveAudit(target, "CREATE");
     }
 
-    @PreUpdate
-    public void preUpdate(Object target) {
-        saveAudit(target, "UPDATE");
-    }
-
     @PreRemove
     public void preRemove(Object target) {
         saveAudit(target, "DELETE");
     }
 
+    // Updates are recorded by AuditChangeListener, which also sees the changed fields
+
     private void saveAudit(Object target, String action) {
+        saveAudit(target, action, null);
+    }
+
+    static void saveAudit(Object target, String action, Map<String, AuditChange> changes) {
         try {
-            String entityName = target.getClass().getSimpleName();
-            String entityId = "UNKNOWN";
             UUID companyId = null;
-
             if (target instanceof BaseTenantEntity) {
-                // We might access ID via reflection or getter if strictly defined
-                // For now, let's keep it generic or assume BaseEntity has ID
                 companyId = ((BaseTenantEntity) target).getCompanyId();
-                // Getting ID from BaseTenantEntity might require casting to specific types if
-                // ID is not in Base
-            }
-
-            // Try to get ID via reflection or if it's a known type
-            try {
-                java.lang.reflect.Method getIdMethod = target.getClass().getMethod("getId");
-                Object idObj = getIdMethod.invoke(target);
-                if (idObj != null) {
-                    entityId = idObj.toString();
-                }
-            } catch (Exception e) {
-                // ignore
             }
 
+            // Captured now: the security context belongs to the calling thread
             String principal = "ANONYMOUS";
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null) {
                 principal = authentication.getName();
             }
 
-            AuditLog auditLog = AuditLog.builder()
-                    .entityName(entityName)
-                    .entityId(entityId)
-                    .action(action)
-                    .principal(principal)
-                    .timestamp(LocalDateTime.now())
-                    .companyId(companyId)
-                    .build();
-
-            if (auditLogRepository != null) {
-                auditLogRepository.save(auditLog);
+            if (auditLogWriter != null) {
+                auditLogWriter.record(new AuditLogWriter.PendingAudit(target, action, principal, LocalDateTime.now(),
+                        companyId, changes));
             } else {
-                log.warn("AuditLogRepository is null, cannot save audit log for {}", entityName);
+                log.warn("AuditLogWriter is null, cannot save audit log for {}", AuditedType.of(target).entityName());
             }
 
         } catch (Exception e) {
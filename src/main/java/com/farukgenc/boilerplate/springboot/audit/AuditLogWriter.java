@@ -0,0 +1,264 @@
+package com.farukgenc.boilerplate.springboot.audit;
+
+import com.farukgenc.boilerplate.springboot.configuration.AuditProperties;
+import com.farukgenc.boilerplate.springboot.utils.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes audit records off the entity callbacks and writes them to
+ * {@code audit_log} with JDBC batch inserts, so audited transactions no longer
+ * pay for one JPA insert, and possibly a nested flush, per entity event.
+ * <p>
+ * Records are collected per transaction and, depending on
+ * {@link AuditProperties.Mode}, either handed to a bounded queue drained by a
+ * background thread once the transaction commits, or written in one batch as
+ * Hibernate's last step before the commit, after the final flush has raised
+ * every callback. Records of rolled back transactions are dropped in both
+ * modes. When the queue is full the caller writes its records itself, which
+ * slows it down instead of losing them.
+ * <p>
+ * Outside TRANSACTIONAL mode every write runs in a transaction of its own.
+ * The caller's overflow write happens in {@code afterCommit}, where the
+ * committed transaction's connection is still bound: an insert joining it
+ * would be rolled back when the connection goes back to the pool.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT = "INSERT INTO audit_log "
+            + "(id, entity_name, entity_id, action, principal, timestamp, company_id, changes) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb))";
+
+    /**
+     * An entity event as seen by the callback. The entity id is read, and the
+     * changes serialized, when the record is written: generated ids are not
+     * assigned yet when {@code @PrePersist} runs, and the write path should not
+     * pay for JSON. {@code changes} is null except for updates.
+     */
+    record PendingAudit(Object target, String action, String principal, LocalDateTime timestamp, UUID companyId,
+            Map<String, AuditChange> changes) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final AuditProperties auditProperties;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // ConcurrentLinkedQueue.size() walks the whole queue, so the bound is kept apart
+    private final Queue<PendingAudit> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter overflows;
+    private final Counter written;
+    private final Counter failures;
+
+    // Kept private rather than exposed as a bean so it does not replace Spring
+    // Boot's taskScheduler
+    private final ScheduledExecutorService writerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AuditProperties auditProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.auditProperties = auditProperties;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("audit.queue.size", queued, AtomicInteger::get)
+                .description("Audit records waiting for the background writer")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("audit.queue.overflow")
+                .description("Audit records written inline by the caller because the queue was full")
+                .register(meterRegistry);
+        this.written = Counter.builder("audit.records.written")
+                .description("Audit records inserted into audit_log")
+                .register(meterRegistry);
+        this.failures = Counter.builder("audit.records.failed")
+                .description("Audit records lost because their batch insert failed")
+                .register(meterRegistry);
+
+        if (auditProperties.getMode() == AuditProperties.Mode.ASYNC) {
+            writerExecutor.scheduleWithFixedDelay(this::drain, auditProperties.getFlushIntervalMillis(),
+                    auditProperties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writerExecutor.shutdown();
+        try {
+            writerExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever is still queued is written by the closing thread
+        drain();
+    }
+
+    /**
+     * Adds the record to the current transaction's batch, or handles it right
+     * away when no transaction is active.
+     */
+    public void record(PendingAudit audit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(List.of(audit));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<PendingAudit> batch = (List<PendingAudit>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            List<PendingAudit> newBatch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, newBatch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionBatch(newBatch));
+            if (auditProperties.getMode() == AuditProperties.Mode.TRANSACTIONAL) {
+                // Spring's beforeCommit runs before the commit-time flush, whose
+                // update callbacks would be missed; Hibernate's hook runs after it
+                entityManager.unwrap(SessionImplementor.class).getActionQueue()
+                        .registerProcess((BeforeTransactionCompletionProcess) session -> insert(newBatch));
+            }
+            batch = newBatch;
+        }
+        batch.add(audit);
+    }
+
+    private void dispatch(List<PendingAudit> batch) {
+        if (auditProperties.getMode() == AuditProperties.Mode.TRANSACTIONAL) {
+            insert(batch);
+            return;
+        }
+
+        List<PendingAudit> rejected = new ArrayList<>();
+        for (PendingAudit audit : batch) {
+            if (queued.incrementAndGet() <= auditProperties.getQueueCapacity()) {
+                queue.offer(audit);
+            } else {
+                queued.decrementAndGet();
+                rejected.add(audit);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            overflows.increment(rejected.size());
+            insertQuietly(rejected);
+        }
+    }
+
+    private void drain() {
+        List<PendingAudit> batch = new ArrayList<>(auditProperties.getBatchSize());
+        PendingAudit audit;
+        while ((audit = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(audit);
+            if (batch.size() == auditProperties.getBatchSize()) {
+                insertQuietly(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertQuietly(batch);
+        }
+    }
+
+    private void insertQuietly(List<PendingAudit> batch) {
+        try {
+            writeTransaction.executeWithoutResult(status -> insert(batch));
+        } catch (RuntimeException e) {
+            failures.increment(batch.size());
+            log.error("Failed to write {} audit records", batch.size(), e);
+        }
+    }
+
+    private void insert(List<PendingAudit> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingAudit audit : batch) {
+            AuditedType type = AuditedType.of(audit.target());
+            rows.add(new Object[] { UuidV7.generate(), type.entityName(), type.entityId(audit.target()),
+                    audit.action(), audit.principal(), Timestamp.valueOf(audit.timestamp()), audit.companyId(),
+                    toJson(audit.changes()) });
+        }
+        int batchSize = auditProperties.getBatchSize();
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+        written.increment(batch.size());
+    }
+
+    /**
+     * {@code {"status": {"old": "SCHEDULED", "new": "CANCELED"}, ...}}, with
+     * associated entities reduced to their id.
+     */
+    private String toJson(Map<String, AuditChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return null;
+        }
+        ObjectNode json = objectMapper.createObjectNode();
+        changes.forEach((property, change) -> {
+            ObjectNode values = json.putObject(property);
+            values.set("old", objectMapper.valueToTree(change.loggableOld()));
+            values.set("new", objectMapper.valueToTree(change.loggableNew()));
+        });
+        return json.toString();
+    }
+
+    /**
+     * Queues the transaction's records once it has committed in ASYNC mode.
+     */
+    private class TransactionBatch implements TransactionSynchronization {
+
+        private final List<PendingAudit> batch;
+
+        TransactionBatch(List<PendingAudit> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void afterCommit() {
+            if (auditProperties.getMode() == AuditProperties.Mode.ASYNC) {
+                dispatch(List.copyOf(batch));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogWriter.this);
+        }
+    }
+}
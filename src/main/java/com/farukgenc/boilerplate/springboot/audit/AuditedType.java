@@ -0,0 +1,91 @@
+package com.farukgenc.boilerplate.springboot.audit;
+
+import com.farukgenc.boilerplate.springboot.model.Identifiable;
+import jakarta.persistence.EntityListeners;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Per-class audit metadata: the entity name and how to read an entity's id.
+ * Resolved once per class through a {@link ClassValue}, so writing an audit
+ * record involves no reflective lookup.
+ * <p>
+ * {@link Identifiable} entities are read through the interface; anything else
+ * falls back to a {@code getId()} method handle, or to {@value #UNKNOWN_ID}
+ * when the class has none.
+ */
+@Slf4j
+final class AuditedType {
+
+    static final String UNKNOWN_ID = "UNKNOWN";
+
+    private static final ClassValue<AuditedType> TYPES = new ClassValue<>() {
+        @Override
+        protected AuditedType computeValue(Class<?> type) {
+            EntityListeners listeners = type.getAnnotation(EntityListeners.class);
+            boolean audited = listeners != null
+                    && Arrays.asList(listeners.value()).contains(AuditEntityListener.class);
+            return new AuditedType(type.getSimpleName(), audited, idGetter(type));
+        }
+    };
+
+    private final String entityName;
+
+    private final boolean audited;
+
+    private final Function<Object, Object> idGetter;
+
+    private AuditedType(String entityName, boolean audited, Function<Object, Object> idGetter) {
+        this.entityName = entityName;
+        this.audited = audited;
+        this.idGetter = idGetter;
+    }
+
+    static AuditedType of(Object entity) {
+        return TYPES.get(entity.getClass());
+    }
+
+    String entityName() {
+        return entityName;
+    }
+
+    /**
+     * Whether the class declares {@link AuditEntityListener}, i.e. its events
+     * belong in the audit log.
+     */
+    boolean audited() {
+        return audited;
+    }
+
+    String entityId(Object entity) {
+        Object id = idGetter.apply(entity);
+        return id != null ? id.toString() : UNKNOWN_ID;
+    }
+
+    private static Function<Object, Object> idGetter(Class<?> type) {
+        if (Identifiable.class.isAssignableFrom(type)) {
+            return entity -> ((Identifiable) entity).getId();
+        }
+        try {
+            MethodHandle getId = MethodHandles.publicLookup()
+                    .unreflect(type.getMethod("getId"))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            return entity -> {
+                try {
+                    return getId.invoke(entity);
+                } catch (Throwable e) {
+                    log.warn("Could not read the id of {}: {}", type.getSimpleName(), e.toString());
+                    return null;
+                }
+            };
+        } catch (ReflectiveOperationException e) {
+            log.warn("{} has no public getId(); audit records will use {}", type.getSimpleName(), UNKNOWN_ID);
+            return entity -> null;
+        }
+    }
+}
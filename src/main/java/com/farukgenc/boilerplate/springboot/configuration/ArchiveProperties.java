@@ -0,0 +1,34 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveProperties {
+
+	/**
+	 * Completed and cancelled appointments that started longer ago than this are moved to appointment_archive
+	 */
+	private int afterMonths = 6;
+
+	/**
+	 * Rows moved per transaction
+	 */
+	private int batchSize = 1_000;
+
+	/**
+	 * Pause between batches, leaving room for booking traffic
+	 */
+	private long batchPauseMillis = 50;
+
+	/**
+	 * When the archive job runs
+	 */
+	private String cron = "0 30 3 * * *";
+
+}
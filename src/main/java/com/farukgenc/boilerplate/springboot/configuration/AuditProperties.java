@@ -0,0 +1,45 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+	public enum Mode {
+		/**
+		 * Queued after commit and written by a background thread; a crash may lose the last records
+		 */
+		ASYNC,
+		/**
+		 * Written in one batch inside the audited transaction, so records commit or roll back with it
+		 */
+		TRANSACTIONAL
+	}
+
+	/**
+	 * How audit records reach audit_log
+	 */
+	private Mode mode = Mode.ASYNC;
+
+	/**
+	 * Records waiting for the background writer before callers write their own inline
+	 */
+	private int queueCapacity = 10_000;
+
+	/**
+	 * Rows per JDBC batch insert
+	 */
+	private int batchSize = 500;
+
+	/**
+	 * How often the background writer drains the queue
+	 */
+	private long flushIntervalMillis = 200;
+
+}
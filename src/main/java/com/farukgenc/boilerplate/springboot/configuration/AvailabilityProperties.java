@@ -0,0 +1,101 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "availability")
+public class AvailabilityProperties {
+
+	/**
+	 * Longest from/to window, in days, accepted by the range endpoints
+	 */
+	private int maxRangeDays = 31;
+
+	/**
+	 * How many days ahead the next-available search looks before giving up
+	 */
+	private int searchHorizonDays = 90;
+
+	/**
+	 * Days loaded per query while the next-available search walks forward
+	 */
+	private int searchChunkDays = 7;
+
+	/**
+	 * Upper bound on the number of slots one next-available request may ask for
+	 */
+	private int maxNextSlots = 20;
+
+	/**
+	 * How long a slot hold reserves its interval during checkout
+	 */
+	private int holdTtlMinutes = 10;
+
+	/**
+	 * Hold requests one client, identified by its address, may make per minute
+	 */
+	private int holdRequestsPerMinute = 20;
+
+	/**
+	 * Live holds one client may own at once
+	 */
+	private int maxHoldsPerClient = 3;
+
+	/**
+	 * Live holds on one professional's day, so part of it always stays bookable
+	 */
+	private int maxHoldsPerProfessionalDay = 5;
+
+	/**
+	 * Threads computing per-professional slots for company-wide searches
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Pending per-professional computations before callers run them on their own thread
+	 */
+	private int queueCapacity = 1_000;
+
+	/**
+	 * Occupied intervals per professional-day; the TTL bounds how long bookings
+	 * made on other nodes stay invisible
+	 */
+	private final CacheSettings index = new CacheSettings(10_000, 1);
+
+	/**
+	 * Compiled weekly working schedules per professional
+	 */
+	private final CacheSettings schedule = new CacheSettings(10_000, 60);
+
+	/**
+	 * Slot settings read from {@code Company.settingsJson}
+	 */
+	private final CacheSettings companySettings = new CacheSettings(1_000, 60);
+
+	@Getter
+	@Setter
+	public static class CacheSettings {
+
+		/**
+		 * Entries kept in memory before the least recently used ones are evicted
+		 */
+		private long maxEntries;
+
+		/**
+		 * Minutes after its load before an entry is evicted and reloaded on next use
+		 */
+		private long ttlMinutes;
+
+		CacheSettings(long maxEntries, long ttlMinutes) {
+			this.maxEntries = maxEntries;
+			this.ttlMinutes = ttlMinutes;
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties.CacheSettings;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bounds of the catalog caches. Entries expire {@code ttl-minutes} after being
+ * loaded. Edits only invalidate the cache of the node that made them, so until
+ * then other nodes keep showing the old row: a renamed or deleted service still
+ * appears in listings and slot searches there, and a hold on it can still be
+ * placed. Bookings are not affected, they read the service and professional in
+ * their own transaction and fail with "not found" for deleted ones.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "catalog-cache")
+public class CatalogCacheProperties {
+
+	/**
+	 * Business services, by id and by company
+	 */
+	private final CacheSettings businessServices = new CacheSettings(10_000, 5);
+
+	/**
+	 * Professionals, by id and by company
+	 */
+	private final CacheSettings professionals = new CacheSettings(10_000, 5);
+
+	/**
+	 * Companies, by id and by slug
+	 */
+	private final CacheSettings companies = new CacheSettings(1_000, 5);
+
+	/**
+	 * Roles by name; they only change on deployment
+	 */
+	private final CacheSettings roles = new CacheSettings(100, 1_440);
+
+}
@@ -0,0 +1,39 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+	/**
+	 * Where replayable responses are kept: "memory" for a single node, "jdbc" to share them across nodes
+	 */
+	private String store = "memory";
+
+	/**
+	 * How long a completed request's response is remembered for replay
+	 */
+	private long ttlMinutes = 24 * 60;
+
+	/**
+	 * How long a request that is still running holds its key; once passed, a retry takes the key over
+	 */
+	private long leaseSeconds = 60;
+
+	/**
+	 * Expired keys deleted per statement by the JDBC store's cleanup
+	 */
+	private int cleanupBatchSize = 1_000;
+
+	/**
+	 * Keys kept by the in-memory store before the oldest ones are evicted
+	 */
+	private long maxEntries = 100_000;
+
+}
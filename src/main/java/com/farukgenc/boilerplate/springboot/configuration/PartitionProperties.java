@@ -0,0 +1,34 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "partitions")
+public class PartitionProperties {
+
+	/**
+	 * Future months that must always have a partition, so bookings made far ahead still find one
+	 */
+	private int monthsAhead = 12;
+
+	/**
+	 * Future months that must always have an audit_log partition; audit rows are always written at the current time
+	 */
+	private int auditMonthsAhead = 2;
+
+	/**
+	 * Months of audit_log kept; older monthly partitions are dropped whole
+	 */
+	private int auditRetentionMonths = 24;
+
+	/**
+	 * When the maintenance job runs, besides once at startup
+	 */
+	private String maintenanceCron = "0 0 3 * * *";
+
+}
@@ -0,0 +1,49 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Public guest endpoints run without a tenant. This hands the company id from
+ * their path to {@link ReplicaRoutingDataSource}, so a guest booking and the
+ * availability read right after it are keyed on the same company.
+ */
+class PublicCompanyRoutingFilter extends OncePerRequestFilter {
+
+	private static final Pattern PUBLIC_COMPANY_PATH = Pattern.compile(
+			"^/api/public/([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})(/.*)?$");
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+
+		return !request.getRequestURI().startsWith(request.getContextPath() + "/api/public/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		final Matcher matcher = PUBLIC_COMPANY_PATH
+				.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+		if (!matcher.matches()) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		ReplicaRoutingDataSource.setRequestCompany(UUID.fromString(matcher.group(1)));
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReplicaRoutingDataSource.clearRequestCompany();
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "purge")
+public class PurgeProperties {
+
+	/**
+	 * Rows deleted per transaction; keeps row locks on shared tables short-lived
+	 */
+	private int chunkSize = 1_000;
+
+	/**
+	 * Pause between chunks, leaving room for booking traffic
+	 */
+	private long chunkPauseMillis = 50;
+
+	/**
+	 * How long a node owns a running job without renewing; after that another node resumes it
+	 */
+	private long leaseSeconds = 60;
+
+	/**
+	 * How often unfinished jobs with an expired lease are looked for
+	 */
+	private long resumeIntervalMillis = 60_000;
+
+}
@@ -0,0 +1,71 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read-replica routing, active only when {@code datasource.replica.url} is
+ * set. Without it Spring Boot's single auto-configured pool is used as before.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+
+		return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+	}
+
+	@Bean
+	public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties,
+			ReplicaProperties replicaProperties) {
+
+		HikariDataSource replica = new HikariDataSource();
+		replica.setPoolName("SpringBootBoilerplateReplicaPool");
+		replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+		replica.setJdbcUrl(replicaProperties.getUrl());
+		// Credentials default to the primary's, e.g. for a second pool on the same instance
+		replica.setUsername(replicaProperties.getUsername() != null ? replicaProperties.getUsername()
+				: dataSourceProperties.determineUsername());
+		replica.setPassword(replicaProperties.getPassword() != null ? replicaProperties.getPassword()
+				: dataSourceProperties.determinePassword());
+		replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+		replica.setReadOnly(true);
+		return replica;
+	}
+
+	@Bean
+	public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+			HikariDataSource replicaDataSource, ReplicaProperties replicaProperties) {
+
+		return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaProperties);
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+
+		// Defers picking a pool until the first statement, after the transaction's read-only flag is set
+		return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+	}
+
+	@Bean
+	public FilterRegistrationBean<PublicCompanyRoutingFilter> publicCompanyRoutingFilter() {
+
+		return new FilterRegistrationBean<>(new PublicCompanyRoutingFilter());
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaProperties {
+
+	/**
+	 * JDBC url of the read replica; routing is enabled only when set
+	 */
+	private String url;
+
+	private String username;
+
+	private String password;
+
+	private int maximumPoolSize = 10;
+
+	/**
+	 * Replication lag above which every read goes to the primary
+	 */
+	private long maxLagMillis = 2_000;
+
+	/**
+	 * After a tenant commits a write, its reads stay on the primary for this long (or the current lag, if longer)
+	 */
+	private long readYourWritesMillis = 5_000;
+
+	/**
+	 * How often the replica's lag is measured
+	 */
+	private long lagProbeIntervalMillis = 5_000;
+
+}
@@ -0,0 +1,115 @@
+package com.farukgenc.boilerplate.springboot.configuration;
+
+import com.farukgenc.boilerplate.springboot.security.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything
+ * else to the primary. Reads also fall back to the primary while the replica
+ * lags more than allowed, or could not be probed, and for a company that
+ * committed a write moments ago, so it reads its own writes. The company is
+ * the caller's tenant or, for public guest requests, the one in the path.
+ * <p>
+ * Must sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag
+ * of a transaction is only known once the transaction has begun.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Target {
+		PRIMARY, REPLICA
+	}
+
+	// Replaying lag in seconds; 0 when fully caught up or not a standby at all
+	private static final String LAG_QUERY = "SELECT CASE "
+			+ "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+	private final JdbcTemplate replicaJdbcTemplate;
+
+	private final ReplicaProperties properties;
+
+	// Company of a tenant-less public request, set by PublicCompanyRoutingFilter
+	private static final ThreadLocal<UUID> requestCompany = new ThreadLocal<>();
+
+	// Company id -> nanoTime of its last read-write transaction
+	private final Cache<UUID, Long> lastWrites;
+
+	private volatile long lagMillis;
+
+	private volatile boolean replicaHealthy = true;
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaProperties properties) {
+
+		this.replicaJdbcTemplate = new JdbcTemplate(replica);
+		this.properties = properties;
+		this.lastWrites = Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofMillis(
+						Math.max(properties.getReadYourWritesMillis(), properties.getMaxLagMillis())))
+				.build();
+
+		setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+
+		UUID companyId = TenantContext.getTenantId() != null ? TenantContext.getTenantId() : requestCompany.get();
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (companyId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+				lastWrites.put(companyId, System.nanoTime());
+			}
+			return Target.PRIMARY;
+		}
+
+		if (!replicaHealthy || lagMillis > properties.getMaxLagMillis()) {
+			return Target.PRIMARY;
+		}
+
+		Long lastWrite = companyId != null ? lastWrites.getIfPresent(companyId) : null;
+		if (lastWrite != null) {
+			long sinceWriteMillis = Duration.ofNanos(System.nanoTime() - lastWrite).toMillis();
+			if (sinceWriteMillis < Math.max(properties.getReadYourWritesMillis(), lagMillis)) {
+				return Target.PRIMARY;
+			}
+		}
+		return Target.REPLICA;
+	}
+
+	static void setRequestCompany(UUID companyId) {
+
+		requestCompany.set(companyId);
+	}
+
+	static void clearRequestCompany() {
+
+		requestCompany.remove();
+	}
+
+	@Scheduled(fixedDelayString = "${datasource.replica.lag-probe-interval-millis:5000}")
+	public void probeLag() {
+
+		try {
+			Double lagSeconds = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+			lagMillis = lagSeconds != null ? (long) (lagSeconds * 1_000) : 0;
+			replicaHealthy = true;
+		} catch (RuntimeException e) {
+			if (replicaHealthy) {
+				log.warn("Replica lag probe failed, routing reads to the primary: {}", e.getMessage());
+			}
+			replicaHealthy = false;
+		}
+	}
+
+}
@@ -42,6 +42,8 @@ public class SecurityConfiguration {
 				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 				.authorizeHttpRequests(request -> request
                                                        .requestMatchers(org.springframework.http.HttpMethod.OPTIONS, "/**").permitAll()
+                                                       // Streamed responses finish on an async dispatch of an already authorized request
+                                                       .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
                                                        .requestMatchers(
 																	      "/api/login",
                                                                           "/api/public/**",
@@ -1,14 +1,25 @@
 package com.farukgenc.boilerplate.springboot.controller;
 
 import com.farukgenc.boilerplate.springboot.model.Appointment;
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
 import com.farukgenc.boilerplate.springboot.payload.response.AppointmentResponse;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentExportRow;
+import com.farukgenc.boilerplate.springboot.service.AppointmentExportService;
+import com.farukgenc.boilerplate.springboot.service.AppointmentHistoryPage;
+import com.farukgenc.boilerplate.springboot.service.AppointmentHistoryService;
+import com.farukgenc.boilerplate.springboot.service.AppointmentPage;
 import com.farukgenc.boilerplate.springboot.service.AppointmentService;
 import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,19 +32,91 @@ import java.util.stream.Collectors;
 @PreAuthorize("hasAnyAuthority('MANAGE_ALL_APPOINTMENTS', 'VIEW_ALL_APPOINTMENTS', 'VIEW_OWN_APPOINTMENTS', 'CREATE_APPOINTMENT')")
 public class AppointmentController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
     private final AppointmentService appointmentService;
+    private final AppointmentExportService appointmentExportService;
+    private final AppointmentHistoryService appointmentHistoryService;
     private final DtoMapper dtoMapper;
 
+    /**
+     * Appointments ordered by start time, one page at a time. When more remain,
+     * the cursor for the next page is returned in the {@value #NEXT_CURSOR_HEADER}
+     * header. Only appointments still in the live table are listed: completed
+     * and cancelled ones older than {@code archive.after-months} are served by
+     * {@link #getAppointmentHistory} and the export.
+     */
     @GetMapping
-    public ResponseEntity<List<AppointmentResponse>> getAllAppointments() {
+    public ResponseEntity<List<AppointmentResponse>> getAllAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
         java.util.UUID companyId = com.farukgenc.boilerplate.springboot.security.TenantContext.getTenantId();
         String email = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication()
                 .getName();
-        List<AppointmentResponse> responses = appointmentService.findAllForUser(companyId, email)
+        AppointmentPage page = appointmentService.findPageForUser(companyId, email, from, to, status, cursor, limit);
+        List<AppointmentResponse> responses = page.appointments()
                 .stream()
                 .map(dtoMapper::toAppointmentResponse)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(responses);
+    }
+
+    /**
+     * Full export of the company's appointments, archived ones included, as
+     * NDJSON or CSV, streamed to the client while it is read from the database.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('MANAGE_ALL_APPOINTMENTS', 'VIEW_ALL_APPOINTMENTS')")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "NDJSON") AppointmentExportService.Format format) {
+        // The body is written on another thread, where the tenant context is not set
+        java.util.UUID companyId = com.farukgenc.boilerplate.springboot.security.TenantContext.getTenantId();
+        boolean csv = format == AppointmentExportService.Format.CSV;
+
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "appointments.csv" : "appointments.ndjson")
+                        .build()
+                        .toString())
+                .body(outputStream -> appointmentExportService.export(companyId, format, outputStream));
+    }
+
+    /**
+     * Reporting view including archived appointments, as flat rows ordered by
+     * start time and paged like {@link #getAllAppointments}.
+     */
+    @GetMapping("/history")
+    @PreAuthorize("hasAnyAuthority('MANAGE_ALL_APPOINTMENTS', 'VIEW_ALL_APPOINTMENTS')")
+    public ResponseEntity<List<AppointmentExportRow>> getAppointmentHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) UUID professionalId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        java.util.UUID companyId = com.farukgenc.boilerplate.springboot.security.TenantContext.getTenantId();
+        AppointmentHistoryPage page = appointmentHistoryService.findPage(companyId, professionalId, from, to, cursor,
+                limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.rows());
     }
 
     @PostMapping
@@ -0,0 +1,58 @@
+package com.farukgenc.boilerplate.springboot.controller;
+
+import com.farukgenc.boilerplate.springboot.payload.response.AuditLogResponse;
+import com.farukgenc.boilerplate.springboot.security.TenantContext;
+import com.farukgenc.boilerplate.springboot.service.AuditLogPage;
+import com.farukgenc.boilerplate.springboot.service.AuditLogService;
+import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/owner/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final AuditLogService auditLogService;
+    private final DtoMapper dtoMapper;
+
+    /**
+     * The company's audit trail, newest first, over the last 30 days unless
+     * {@code from} is given. At most {@code limit} entries are returned; the
+     * cursor for the next page is returned in the
+     * {@value AppointmentController#NEXT_CURSOR_HEADER} header and is absent on
+     * the last page.
+     */
+    @GetMapping
+    @PreAuthorize("hasAuthority('MANAGE_COMPANY_SETTINGS')")
+    public ResponseEntity<List<AuditLogResponse>> getAuditLog(
+            @RequestParam(required = false) String entityName,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) String principal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        UUID companyId = TenantContext.getTenantId();
+        AuditLogPage page = auditLogService.findPage(companyId, entityName, entityId, principal, from, to, cursor,
+                limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(AppointmentController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.entries().stream().map(dtoMapper::toAuditLogResponse).toList());
+    }
+}
@@ -1,8 +1,11 @@
 package com.farukgenc.boilerplate.springboot.controller;
 
+import com.farukgenc.boilerplate.springboot.payload.response.NextSlotResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.SlotAvailabilityResponse;
+import com.farukgenc.boilerplate.springboot.security.TenantContext;
 import com.farukgenc.boilerplate.springboot.service.AvailabilityService;
 import com.farukgenc.boilerplate.springboot.service.BusinessServiceService;
-import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -30,14 +34,54 @@ public class AvailabilityController {
         int finalDuration = duration;
 
         if (serviceId != null) {
-            BusinessService service = businessServiceService.findById(serviceId); // Assuming this method exists or
-                                                                                  // similar
+            BusinessServiceSummary service = businessServiceService.findById(serviceId);
             if (service != null) {
-                finalDuration = service.getDurationMinutes();
+                finalDuration = service.durationMinutes();
             }
         }
 
         List<String> slots = availabilityService.getAvailableSlots(professionalId, date, finalDuration);
         return ResponseEntity.ok(slots);
     }
+
+    @GetMapping("/range")
+    public ResponseEntity<Map<LocalDate, List<String>>> getAvailableSlotsInRange(
+            @RequestParam UUID professionalId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) UUID serviceId,
+            @RequestParam(defaultValue = "30") int duration) {
+
+        int finalDuration = serviceId != null ? businessServiceService.findById(serviceId).durationMinutes()
+                : duration;
+
+        return ResponseEntity.ok(availabilityService.getAvailableSlots(professionalId, from, to, finalDuration));
+    }
+
+    @GetMapping("/any")
+    public ResponseEntity<List<SlotAvailabilityResponse>> getAvailableSlotsForAnyProfessional(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) UUID serviceId,
+            @RequestParam(defaultValue = "30") int duration) {
+
+        int finalDuration = serviceId != null ? businessServiceService.findById(serviceId).durationMinutes()
+                : duration;
+
+        return ResponseEntity.ok(
+                availabilityService.getAvailableSlotsForCompany(TenantContext.getTenantId(), date, finalDuration));
+    }
+
+    @GetMapping("/next")
+    public ResponseEntity<List<NextSlotResponse>> getNextAvailableSlots(
+            @RequestParam(required = false) UUID professionalId,
+            @RequestParam(required = false) UUID serviceId,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "1") int count) {
+
+        int finalDuration = serviceId != null ? businessServiceService.findById(serviceId).durationMinutes()
+                : duration;
+
+        return ResponseEntity.ok(availabilityService.findNextAvailable(TenantContext.getTenantId(), professionalId,
+                finalDuration, count));
+    }
 }
@@ -11,7 +11,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/services")
@@ -25,11 +24,7 @@ public class BusinessServiceController {
     @GetMapping
     public ResponseEntity<List<BusinessServiceResponse>> getAllServices() {
         java.util.UUID companyId = com.farukgenc.boilerplate.springboot.security.TenantContext.getTenantId();
-        List<BusinessServiceResponse> responses = businessServiceService.findAllByCompanyId(companyId)
-                .stream()
-                .map(dtoMapper::toBusinessServiceResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(businessServiceService.findAllByCompanyId(companyId));
     }
 
     @GetMapping("/{id}")
@@ -3,6 +3,8 @@ package com.farukgenc.boilerplate.springboot.controller;
 import com.farukgenc.boilerplate.springboot.payload.response.CompanyResponse;
 import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
 import com.farukgenc.boilerplate.springboot.security.TenantContext;
+import com.farukgenc.boilerplate.springboot.service.CatalogCache;
+import com.farukgenc.boilerplate.springboot.service.CompanySlotSettings;
 import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +21,14 @@ public class CompanyController {
 
     private final CompanyRepository companyRepository;
     private final DtoMapper dtoMapper;
+    private final CompanySlotSettings companySlotSettings;
+    private final CatalogCache catalogCache;
 
     @GetMapping
     @PreAuthorize("hasAuthority('MANAGE_COMPANY_SETTINGS')")
     public ResponseEntity<CompanyResponse> getMyCompany() {
         UUID companyId = TenantContext.getTenantId();
-        return companyRepository.findById(companyId)
+        return catalogCache.company(companyId)
                 .map(company -> ResponseEntity.ok(dtoMapper.toCompanyResponse(company)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -46,6 +50,8 @@ public class CompanyController {
                 company.setSettingsJson(request.getSettingsJson());
 
             companyRepository.save(company);
+            companySlotSettings.invalidate(companyId);
+            catalogCache.invalidateCompany(companyId);
             return ResponseEntity.ok(dtoMapper.toCompanyResponse(company));
         }).orElse(ResponseEntity.notFound().build());
     }
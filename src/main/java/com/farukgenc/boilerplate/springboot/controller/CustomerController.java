@@ -10,7 +10,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -24,11 +23,7 @@ public class CustomerController {
     @GetMapping
     public ResponseEntity<List<CustomerResponse>> getAllCustomers() {
         java.util.UUID companyId = com.farukgenc.boilerplate.springboot.security.TenantContext.getTenantId();
-        List<CustomerResponse> responses = customerService.findAllByCompanyId(companyId)
-                .stream()
-                .map(dtoMapper::toCustomerResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(customerService.findAllByCompanyId(companyId));
     }
 
     @GetMapping("/{id}")
@@ -1,15 +1,20 @@
 package com.farukgenc.boilerplate.springboot.controller;
 
 import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeJob;
+import com.farukgenc.boilerplate.springboot.payload.response.TenantPurgeJobResponse;
 import com.farukgenc.boilerplate.springboot.security.dto.AdminCompanyResponse;
 import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
 import com.farukgenc.boilerplate.springboot.repository.CompanyUserRepository;
 import com.farukgenc.boilerplate.springboot.model.CompanyUser;
+import com.farukgenc.boilerplate.springboot.service.CatalogCache;
+import com.farukgenc.boilerplate.springboot.service.TenantPurgeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.validation.Valid;
 
@@ -25,10 +30,8 @@ public class PlatformAdminController {
 
     private final CompanyRepository companyRepository;
     private final CompanyUserRepository companyUserRepository;
-    private final com.farukgenc.boilerplate.springboot.repository.AppointmentRepository appointmentRepository;
-    private final com.farukgenc.boilerplate.springboot.repository.CustomerRepository customerRepository;
-    private final com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository professionalRepository;
-    private final com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository businessServiceRepository;
+    private final TenantPurgeService tenantPurgeService;
+    private final CatalogCache catalogCache;
 
     @GetMapping
     @PreAuthorize("hasAuthority('MANAGE_COMPANIES')")
@@ -72,8 +75,12 @@ public class PlatformAdminController {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new RuntimeException("Company not found"));
 
+        if (!company.isActive() && tenantPurgeService.isPurging(companyId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Company is being purged");
+        }
         company.setActive(!company.isActive());
         companyRepository.save(company);
+        catalogCache.invalidateCompany(companyId);
 
         return ResponseEntity.ok().build();
     }
@@ -94,6 +101,7 @@ public class PlatformAdminController {
             company.setSlug(request.getSlug());
 
         Company updated = companyRepository.save(company);
+        catalogCache.invalidateCompany(companyId);
 
         return ResponseEntity.ok(AdminCompanyResponse.builder()
                 .id(updated.getId())
@@ -105,23 +113,37 @@ public class PlatformAdminController {
                 .build());
     }
 
+    /**
+     * Deactivates the company and deletes its data in the background; poll the
+     * returned job for progress.
+     */
     @DeleteMapping("/{companyId}")
     @PreAuthorize("hasAuthority('MANAGE_COMPANIES')")
-    @Transactional
-    public ResponseEntity<Void> deleteCompany(@PathVariable java.util.UUID companyId) {
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new RuntimeException("Company not found"));
+    public ResponseEntity<TenantPurgeJobResponse> deleteCompany(@PathVariable java.util.UUID companyId) {
+        TenantPurgeJob job = tenantPurgeService.startPurge(companyId);
 
-        // Manually cascade deletes to avoid foreign key constraints
-        appointmentRepository.deleteByCompanyId(companyId);
-        customerRepository.deleteByCompanyId(companyId);
-        professionalRepository.deleteByCompanyId(companyId);
-        businessServiceRepository.deleteByCompanyId(companyId);
-        companyUserRepository.deleteByCompanyId(companyId);
+        return ResponseEntity.accepted()
+                .location(java.net.URI.create("/api/admin/companies/purge-jobs/" + job.getId()))
+                .body(toPurgeJobResponse(job));
+    }
 
-        // Finally, delete the company itself
-        companyRepository.delete(company);
+    @GetMapping("/purge-jobs/{jobId}")
+    @PreAuthorize("hasAuthority('MANAGE_COMPANIES')")
+    public ResponseEntity<TenantPurgeJobResponse> getPurgeJob(@PathVariable java.util.UUID jobId) {
+        return ResponseEntity.ok(toPurgeJobResponse(tenantPurgeService.findJob(jobId)));
+    }
 
-        return ResponseEntity.noContent().build();
+    private TenantPurgeJobResponse toPurgeJobResponse(TenantPurgeJob job) {
+        return TenantPurgeJobResponse.builder()
+                .id(job.getId())
+                .companyId(job.getCompanyId())
+                .status(job.getStatus().name())
+                .currentStep(job.getCurrentStep())
+                .rowsDeleted(job.getRowsDeleted())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
     }
 }
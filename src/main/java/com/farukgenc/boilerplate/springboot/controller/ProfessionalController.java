@@ -11,7 +11,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/professionals")
@@ -25,11 +24,7 @@ public class ProfessionalController {
     @GetMapping
     public ResponseEntity<List<ProfessionalResponse>> getAllProfessionals() {
         java.util.UUID companyId = com.farukgenc.boilerplate.springboot.security.TenantContext.getTenantId();
-        List<ProfessionalResponse> responses = professionalService.findAllByCompanyId(companyId)
-                .stream()
-                .map(dtoMapper::toProfessionalResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(professionalService.findAllByCompanyId(companyId));
     }
 
     @GetMapping("/{id}")
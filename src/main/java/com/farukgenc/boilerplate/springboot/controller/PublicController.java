@@ -2,58 +2,60 @@ package com.farukgenc.boilerplate.springboot.controller;
 
 import com.farukgenc.boilerplate.springboot.payload.response.BusinessServiceResponse;
 import com.farukgenc.boilerplate.springboot.payload.response.CompanyResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.NextSlotResponse;
 import com.farukgenc.boilerplate.springboot.payload.response.ProfessionalResponse;
-import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.payload.response.SlotAvailabilityResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.SlotHoldResponse;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
+import com.farukgenc.boilerplate.springboot.security.dto.SlotHoldRequest;
 import com.farukgenc.boilerplate.springboot.service.BusinessServiceService;
 import com.farukgenc.boilerplate.springboot.service.ProfessionalService;
 import com.farukgenc.boilerplate.springboot.service.AppointmentService;
 import com.farukgenc.boilerplate.springboot.service.AvailabilityService;
+import com.farukgenc.boilerplate.springboot.service.CatalogCache;
 import com.farukgenc.boilerplate.springboot.service.CustomerService;
+import com.farukgenc.boilerplate.springboot.service.IdempotencyService;
+import com.farukgenc.boilerplate.springboot.service.SlotHold;
 import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/public")
 @RequiredArgsConstructor
 public class PublicController {
 
-    private final CompanyRepository companyRepository;
+    private final CatalogCache catalogCache;
     private final BusinessServiceService businessServiceService;
     private final ProfessionalService professionalService;
     private final AppointmentService appointmentService;
     private final AvailabilityService availabilityService;
     private final CustomerService customerService;
+    private final IdempotencyService idempotencyService;
     private final DtoMapper dtoMapper;
 
     @GetMapping("/company/{slug}")
     public ResponseEntity<CompanyResponse> getCompanyBySlug(@PathVariable String slug) {
-        return companyRepository.findBySlug(slug)
+        return catalogCache.companyBySlug(slug)
                 .map(company -> ResponseEntity.ok(dtoMapper.toCompanyResponse(company)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{companyId}/services")
     public ResponseEntity<List<BusinessServiceResponse>> getServices(@PathVariable java.util.UUID companyId) {
-        List<BusinessServiceResponse> responses = businessServiceService.findAllByCompanyId(companyId)
-                .stream()
-                .map(dtoMapper::toBusinessServiceResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(businessServiceService.findAllByCompanyId(companyId));
     }
 
     @GetMapping("/{companyId}/professionals")
     public ResponseEntity<List<ProfessionalResponse>> getProfessionals(@PathVariable java.util.UUID companyId) {
-        List<ProfessionalResponse> responses = professionalService.findAllByCompanyId(companyId)
-                .stream()
-                .map(dtoMapper::toProfessionalResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(professionalService.findAllByCompanyId(companyId));
     }
 
     @GetMapping("/{companyId}/availability/slots")
@@ -62,20 +64,88 @@ public class PublicController {
             @RequestParam java.util.UUID professionalId,
             @RequestParam String date, // yyyy-MM-dd
             @RequestParam java.util.UUID serviceId) {
-        com.farukgenc.boilerplate.springboot.model.BusinessService service = businessServiceService.findById(serviceId);
-        if (!service.getCompanyId().equals(companyId)) {
+        BusinessServiceSummary service = businessServiceService.findById(serviceId);
+        if (!service.companyId().equals(companyId)) {
             throw new RuntimeException("Service mismatch");
         }
         return ResponseEntity
                 .ok(availabilityService.getAvailableSlots(professionalId, LocalDate.parse(date),
-                        service.getDurationMinutes()));
+                        service.durationMinutes()));
+    }
+
+    @GetMapping("/{companyId}/availability/range")
+    public ResponseEntity<Map<LocalDate, List<String>>> getAvailableTimeSlotsInRange(
+            @PathVariable java.util.UUID companyId,
+            @RequestParam java.util.UUID professionalId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam java.util.UUID serviceId) {
+        BusinessServiceSummary service = businessServiceService.findById(serviceId);
+        if (!service.companyId().equals(companyId)) {
+            throw new RuntimeException("Service mismatch");
+        }
+        return ResponseEntity
+                .ok(availabilityService.getAvailableSlots(professionalId, from, to, service.durationMinutes()));
+    }
+
+    @GetMapping("/{companyId}/availability/any")
+    public ResponseEntity<List<SlotAvailabilityResponse>> getAvailableTimeSlotsForAnyProfessional(
+            @PathVariable java.util.UUID companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam java.util.UUID serviceId) {
+        BusinessServiceSummary service = businessServiceService.findById(serviceId);
+        if (!service.companyId().equals(companyId)) {
+            throw new RuntimeException("Service mismatch");
+        }
+        return ResponseEntity
+                .ok(availabilityService.getAvailableSlotsForCompany(companyId, date, service.durationMinutes()));
+    }
+
+    @GetMapping("/{companyId}/availability/next")
+    public ResponseEntity<List<NextSlotResponse>> getNextAvailableSlots(
+            @PathVariable java.util.UUID companyId,
+            @RequestParam(required = false) java.util.UUID professionalId,
+            @RequestParam java.util.UUID serviceId,
+            @RequestParam(defaultValue = "1") int count) {
+        BusinessServiceSummary service = businessServiceService.findById(serviceId);
+        if (!service.companyId().equals(companyId)) {
+            throw new RuntimeException("Service mismatch");
+        }
+        return ResponseEntity.ok(availabilityService.findNextAvailable(companyId, professionalId,
+                service.durationMinutes(), count));
+    }
+
+    @PostMapping("/{companyId}/availability/holds")
+    public ResponseEntity<SlotHoldResponse> holdSlot(
+            @PathVariable java.util.UUID companyId,
+            @RequestBody SlotHoldRequest request,
+            HttpServletRequest servletRequest) {
+        // The client address; behind the proxy it comes from X-Forwarded-For
+        SlotHold hold = appointmentService.holdGuestSlot(companyId, request, servletRequest.getRemoteAddr());
+        return ResponseEntity.ok(SlotHoldResponse.builder()
+                .holdToken(hold.token())
+                .professionalId(hold.professionalId())
+                .startTime(hold.startTime())
+                .endTime(hold.endTime())
+                .expiresAt(hold.expiresAt())
+                .build());
+    }
+
+    @DeleteMapping("/{companyId}/availability/holds/{holdToken}")
+    public ResponseEntity<Void> releaseHold(
+            @PathVariable java.util.UUID companyId,
+            @PathVariable java.util.UUID holdToken) {
+        availabilityService.releaseHold(holdToken);
+        return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/{companyId}/appointments/guest")
     public ResponseEntity<?> createGuestAppointment(
             @PathVariable java.util.UUID companyId,
+            @RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody com.farukgenc.boilerplate.springboot.security.dto.GuestBookingRequest request) {
-        return ResponseEntity.ok(appointmentService.createGuestAppointment(companyId, request));
+        return idempotencyService.execute(companyId, idempotencyKey, request,
+                () -> ResponseEntity.ok(appointmentService.createGuestAppointment(companyId, request)));
     }
 
     @PostMapping("/{companyId}/customers/register")
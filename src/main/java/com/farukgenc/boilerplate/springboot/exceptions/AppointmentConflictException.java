@@ -0,0 +1,16 @@
+package com.farukgenc.boilerplate.springboot.exceptions;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Thrown when a booking would overlap another non-cancelled appointment of the
+ * same professional.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AppointmentConflictException extends RuntimeException {
+
+	private final String errorMessage;
+
+}
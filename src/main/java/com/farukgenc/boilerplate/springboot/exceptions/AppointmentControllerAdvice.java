@@ -0,0 +1,22 @@
+package com.farukgenc.boilerplate.springboot.exceptions;
+
+import com.farukgenc.boilerplate.springboot.controller.AppointmentController;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+@RestControllerAdvice(basePackageClasses = AppointmentController.class)
+public class AppointmentControllerAdvice {
+
+	@ExceptionHandler(AppointmentConflictException.class)
+	ResponseEntity<ApiExceptionResponse> handleAppointmentConflictException(AppointmentConflictException exception) {
+
+		final ApiExceptionResponse response = new ApiExceptionResponse(exception.getErrorMessage(), HttpStatus.CONFLICT, LocalDateTime.now());
+
+		return ResponseEntity.status(response.getStatus()).body(response);
+	}
+
+}
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 public class Appointment extends BaseTenantEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private java.util.UUID id;
 
     @ManyToOne
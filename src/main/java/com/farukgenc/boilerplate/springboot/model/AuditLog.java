@@ -2,6 +2,8 @@ package com.farukgenc.boilerplate.springboot.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,7 +18,7 @@ import java.util.UUID;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @Column(name = "entity_name", nullable = false)
@@ -36,4 +38,8 @@ public class AuditLog {
 
     @Column(name = "company_id")
     private UUID companyId; // Optional based on context
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "changes", columnDefinition = "jsonb")
+    private String changes; // Changed properties of an UPDATE, with old and new values
 }
@@ -21,7 +21,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @FilterDef(name = "tenantFilter", parameters = { @ParamDef(name = "companyId", type = String.class) })
 @Filter(name = "tenantFilter", condition = "company_id = cast(:companyId as uuid)")
-public abstract class BaseTenantEntity implements Serializable {
+public abstract class BaseTenantEntity implements Serializable, Identifiable {
 
     @NotNull
     @Column(name = "company_id", nullable = false)
@@ -17,7 +17,7 @@ import java.math.BigDecimal;
 public class BusinessService extends BaseTenantEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private java.util.UUID id;
 
     @Column(nullable = false)
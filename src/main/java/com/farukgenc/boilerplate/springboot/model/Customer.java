@@ -14,7 +14,7 @@ import lombok.experimental.SuperBuilder;
 public class Customer extends BaseTenantEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private java.util.UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,19 @@
+package com.farukgenc.boilerplate.springboot.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a time-ordered {@link com.farukgenc.boilerplate.springboot.utils.UuidV7}
+ * id before insert. Being assigned in Java, it also keeps JDBC insert batching
+ * available.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface GeneratedUuidV7 {
+}
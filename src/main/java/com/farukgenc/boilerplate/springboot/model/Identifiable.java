@@ -0,0 +1,12 @@
+package com.farukgenc.boilerplate.springboot.model;
+
+import java.util.UUID;
+
+/**
+ * Entity exposing its id without reflection, e.g. to the audit pipeline.
+ * Implemented through the Lombok-generated {@code getId()}.
+ */
+public interface Identifiable {
+
+    UUID getId();
+}
@@ -17,7 +17,7 @@ import org.hibernate.type.SqlTypes;
 public class Professional extends BaseTenantEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private java.util.UUID id;
 
     @OneToOne
@@ -0,0 +1,65 @@
+package com.farukgenc.boilerplate.springboot.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tenant_purge_job")
+public class TenantPurgeJob {
+
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TenantPurgeStatus status;
+
+    @Column(name = "current_step")
+    private String currentStep;
+
+    @Builder.Default
+    @Column(name = "rows_deleted", nullable = false)
+    private long rowsDeleted = 0;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    // Node currently running the job and until when; an expired lease lets any node resume it
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
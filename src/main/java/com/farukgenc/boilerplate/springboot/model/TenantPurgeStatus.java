@@ -0,0 +1,8 @@
+package com.farukgenc.boilerplate.springboot.model;
+
+public enum TenantPurgeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
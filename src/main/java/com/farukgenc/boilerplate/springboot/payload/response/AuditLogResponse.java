@@ -0,0 +1,25 @@
+package com.farukgenc.boilerplate.springboot.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogResponse {
+    private UUID id;
+    private String entityName;
+    private String entityId;
+    private String action;
+    private String principal;
+    private LocalDateTime timestamp;
+    private Object changes;
+}
@@ -0,0 +1,20 @@
+package com.farukgenc.boilerplate.springboot.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotAvailabilityResponse {
+    private String time;
+    private List<UUID> professionalIds;
+}
@@ -0,0 +1,27 @@
+package com.farukgenc.boilerplate.springboot.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantPurgeJobResponse {
+    private UUID id;
+    private UUID companyId;
+    private String status;
+    private String currentStep;
+    private long rowsDeleted;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
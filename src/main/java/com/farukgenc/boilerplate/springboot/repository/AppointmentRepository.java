@@ -2,6 +2,8 @@ package com.farukgenc.boilerplate.springboot.repository;
 
 import com.farukgenc.boilerplate.springboot.model.Appointment;
 import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,15 +21,85 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
         List<Appointment> findByProfessionalIdAndStartTimeBetween(UUID professionalId, LocalDateTime start,
                         LocalDateTime end);
 
+        @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval(a.professional.id, a.startTime, a.endTime) "
+                        + "FROM Appointment a WHERE a.professional.id = :professionalId "
+                        + "AND a.status <> com.farukgenc.boilerplate.springboot.model.AppointmentStatus.CANCELED "
+                        + "AND a.startTime BETWEEN :start AND :end ORDER BY a.startTime")
+        List<AppointmentInterval> findOccupiedIntervals(@Param("professionalId") UUID professionalId,
+                        @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+        @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval(a.professional.id, a.startTime, a.endTime) "
+                        + "FROM Appointment a WHERE a.professional.id IN :professionalIds "
+                        + "AND a.status <> com.farukgenc.boilerplate.springboot.model.AppointmentStatus.CANCELED "
+                        + "AND a.startTime BETWEEN :start AND :end ORDER BY a.professional.id, a.startTime")
+        List<AppointmentInterval> findOccupiedIntervals(@Param("professionalIds") Collection<UUID> professionalIds,
+                        @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
         List<Appointment> findByProfessionalIdAndStatusAndStartTimeBetween(UUID professionalId,
                         AppointmentStatus status,
                         LocalDateTime start, LocalDateTime end);
 
         List<Appointment> findByCustomerId(UUID customerId);
 
-        List<Appointment> findByCompanyId(UUID companyId);
+        /**
+         * Keyset page ordered by (startTime, id), starting strictly after the
+         * given position; served by idx_appointment_company_start. The row-value
+         * comparison lets the cursor become the index scan's start key, so deep
+         * pages do not re-read the rows of earlier ones. Fetches everything
+         * DtoMapper.toAppointmentResponse reads, so a page costs one select.
+         */
+        @Query("SELECT a FROM Appointment a JOIN FETCH a.professional p JOIN FETCH p.userAccount "
+                        + "LEFT JOIN FETCH a.customer c LEFT JOIN FETCH c.userAccount LEFT JOIN FETCH a.service "
+                        + "WHERE a.companyId = :companyId AND a.startTime >= :from AND a.startTime < :to "
+                        + "AND a.status IN :statuses "
+                        + "AND (a.startTime, a.id) > (:afterStart, :afterId) "
+                        + "ORDER BY a.startTime, a.id")
+        List<Appointment> findPageByCompanyId(@Param("companyId") UUID companyId,
+                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                        @Param("statuses") Collection<AppointmentStatus> statuses,
+                        @Param("afterStart") LocalDateTime afterStart, @Param("afterId") UUID afterId, Limit limit);
+
+        @Query("SELECT a FROM Appointment a JOIN FETCH a.professional p JOIN FETCH p.userAccount "
+                        + "LEFT JOIN FETCH a.customer c LEFT JOIN FETCH c.userAccount LEFT JOIN FETCH a.service "
+                        + "WHERE a.companyId = :companyId AND p.id = :professionalId "
+                        + "AND a.startTime >= :from AND a.startTime < :to AND a.status IN :statuses "
+                        + "AND (a.startTime, a.id) > (:afterStart, :afterId) "
+                        + "ORDER BY a.startTime, a.id")
+        List<Appointment> findPageByCompanyIdAndProfessionalId(@Param("companyId") UUID companyId,
+                        @Param("professionalId") UUID professionalId,
+                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                        @Param("statuses") Collection<AppointmentStatus> statuses,
+                        @Param("afterStart") LocalDateTime afterStart, @Param("afterId") UUID afterId, Limit limit);
+
+        /**
+         * Transaction-scoped advisory lock on the start of one month of a
+         * professional's calendar. Bookings starting in that month take it
+         * shared, bookings running into it take it exclusively.
+         */
+        @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext(CAST(:professionalId AS text)), :month)) l",
+                        nativeQuery = true)
+        long lockMonth(@Param("professionalId") UUID professionalId, @Param("month") int month);
+
+        @Query(value = "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock_shared(hashtext(CAST(:professionalId AS text)), :month)) l",
+                        nativeQuery = true)
+        long lockMonthShared(@Param("professionalId") UUID professionalId, @Param("month") int month);
 
-        List<Appointment> findByCompanyIdAndProfessionalId(UUID companyId, UUID professionalId);
+        /**
+         * Whether [start, end) overlaps an appointment kept in another monthly
+         * partition than the month starting at {@code monthStart}: one that
+         * started earlier and runs into it, served by
+         * idx_appointment_month_crossing, or one starting in a later month.
+         */
+        @Query(value = "SELECT EXISTS (SELECT 1 FROM appointment WHERE professional_id = :professionalId "
+                        + "AND status <> 'CANCELED' AND start_time < :monthStart AND end_time > :start "
+                        + "AND date_trunc('month', start_time) <> date_trunc('month', end_time - INTERVAL '1 microsecond')) "
+                        + "OR EXISTS (SELECT 1 FROM appointment WHERE professional_id = :professionalId "
+                        + "AND status <> 'CANCELED' AND start_time >= :nextMonthStart AND start_time < :end)",
+                        nativeQuery = true)
+        boolean existsOverlapInOtherMonth(@Param("professionalId") UUID professionalId,
+                        @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                        @Param("monthStart") LocalDateTime monthStart,
+                        @Param("nextMonthStart") LocalDateTime nextMonthStart);
 
         @Modifying
         @Query("DELETE FROM Appointment a WHERE a.companyId = :companyId")
@@ -1,11 +1,40 @@
 package com.farukgenc.boilerplate.springboot.repository;
 
 import com.farukgenc.boilerplate.springboot.model.AuditLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
+
+    /**
+     * Keyset page of the company's audit trail, newest first, starting strictly
+     * before the given position. The time window prunes monthly partitions, and
+     * the row-value cursor is the start key of the scan of
+     * idx_audit_log_company_timestamp; null filters are ignored.
+     */
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT a FROM AuditLog a WHERE a.companyId = :companyId "
+            + "AND a.timestamp >= :from AND a.timestamp < :to "
+            + "AND (:entityName IS NULL OR a.entityName = :entityName) "
+            + "AND (:entityId IS NULL OR a.entityId = :entityId) "
+            + "AND (:principal IS NULL OR a.principal = :principal) "
+            + "AND (a.timestamp, a.id) < (:beforeTime, :beforeId) "
+            + "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findPageByCompanyId(@Param("companyId") UUID companyId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("entityName") String entityName, @Param("entityId") String entityId,
+            @Param("principal") String principal,
+            @Param("beforeTime") LocalDateTime beforeTime, @Param("beforeId") UUID beforeId, Limit limit);
 }
@@ -1,12 +1,17 @@
 package com.farukgenc.boilerplate.springboot.repository;
 
 import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import java.util.List;
@@ -15,6 +20,21 @@ import java.util.List;
 public interface BusinessServiceRepository extends JpaRepository<BusinessService, UUID> {
     List<BusinessService> findByCompanyId(UUID companyId);
 
+    // Listing read model: rows selected straight from SQL, no entity is managed or snapshotted
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary("
+            + "s.id, s.companyId, s.name, s.description, s.price, s.durationMinutes, s.active) "
+            + "FROM BusinessService s WHERE s.companyId = :companyId")
+    List<BusinessServiceSummary> findSummariesByCompanyId(@Param("companyId") UUID companyId);
+
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary("
+            + "s.id, s.companyId, s.name, s.description, s.price, s.durationMinutes, s.active) "
+            + "FROM BusinessService s WHERE s.id = :id")
+    Optional<BusinessServiceSummary> findSummaryById(@Param("id") UUID id);
+
     @Modifying
     @Query("DELETE FROM BusinessService bs WHERE bs.companyId = :companyId")
     void deleteByCompanyId(@Param("companyId") UUID companyId);
@@ -1,7 +1,10 @@
 package com.farukgenc.boilerplate.springboot.repository;
 
 import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.repository.projection.CompanySummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.UUID;
 
@@ -9,4 +12,23 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
     boolean existsByTaxId(String taxId);
 
     java.util.Optional<Company> findBySlug(String slug);
+
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.CompanySummary("
+            + "c.id, c.legalName, c.tradeName, c.slug, c.active) FROM Company c WHERE c.id = :id")
+    java.util.Optional<CompanySummary> findSummaryById(@Param("id") UUID id);
+
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.CompanySummary("
+            + "c.id, c.legalName, c.tradeName, c.slug, c.active) FROM Company c WHERE c.slug = :slug")
+    java.util.Optional<CompanySummary> findSummaryBySlug(@Param("slug") String slug);
+
+    @Query("SELECT c.settingsJson FROM Company c WHERE c.id = :id")
+    java.util.Optional<String> findSettingsJsonById(@Param("id") UUID id);
+
+    /**
+     * The company's active flag under a share lock held until the end of the
+     * transaction, so deactivating the company waits for the writes that
+     * already passed this check, and writes after it see the new value.
+     */
+    @Query(value = "SELECT active FROM company WHERE id = :id FOR SHARE", nativeQuery = true)
+    java.util.Optional<Boolean> findActiveForShare(@Param("id") UUID id);
 }
@@ -1,9 +1,13 @@
 package com.farukgenc.boilerplate.springboot.repository;
 
 import com.farukgenc.boilerplate.springboot.model.Customer;
+import com.farukgenc.boilerplate.springboot.payload.response.CustomerResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 
@@ -19,6 +23,17 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.userAccount WHERE c.companyId = :companyId")
     List<Customer> findByCompanyId(@Param("companyId") UUID companyId);
 
+    // Same precedence as DtoMapper.toCustomerResponse: contact details come from the
+    // user account when the customer has one
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.payload.response.CustomerResponse(c.id, "
+            + "COALESCE(u.fullName, c.fullName), "
+            + "CASE WHEN u.id IS NULL THEN c.email ELSE u.email END, "
+            + "CASE WHEN u.id IS NULL THEN c.phoneNumber ELSE u.phoneNumber END, c.notes) "
+            + "FROM Customer c LEFT JOIN c.userAccount u WHERE c.companyId = :companyId")
+    List<CustomerResponse> findResponsesByCompanyId(@Param("companyId") UUID companyId);
+
     @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.userAccount WHERE c.id = :id")
     Optional<Customer> findById(@Param("id") UUID id);
 
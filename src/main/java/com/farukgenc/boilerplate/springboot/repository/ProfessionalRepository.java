@@ -1,11 +1,18 @@
 package com.farukgenc.boilerplate.springboot.repository;
 
 import com.farukgenc.boilerplate.springboot.model.Professional;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalWorkingHours;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 import java.util.List;
@@ -13,6 +20,28 @@ import java.util.List;
 public interface ProfessionalRepository extends JpaRepository<Professional, UUID> {
     List<Professional> findByCompanyId(UUID companyId);
 
+    // Listing read model: rows selected straight from SQL, no entity is managed or snapshotted
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary("
+            + "p.id, p.companyId, u.email, u.fullName, u.phoneNumber, p.active, p.workingHours) "
+            + "FROM Professional p JOIN p.userAccount u WHERE p.companyId = :companyId")
+    List<ProfessionalSummary> findSummariesByCompanyId(@Param("companyId") UUID companyId);
+
+    @QueryHints({ @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_FLUSH_MODE, value = "MANUAL") })
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary("
+            + "p.id, p.companyId, u.email, u.fullName, u.phoneNumber, p.active, p.workingHours) "
+            + "FROM Professional p JOIN p.userAccount u WHERE p.id = :id")
+    Optional<ProfessionalSummary> findSummaryById(@Param("id") UUID id);
+
+    @Query("SELECT p.id FROM Professional p WHERE p.companyId = :companyId AND p.active = true")
+    List<UUID> findActiveIdsByCompanyId(@Param("companyId") UUID companyId);
+
+    @Query("SELECT new com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalWorkingHours(p.id, p.companyId, "
+            + "p.workingHours) FROM Professional p WHERE p.id IN :ids")
+    List<ProfessionalWorkingHours> findWorkingHoursByIdIn(@Param("ids") Collection<? extends UUID> ids);
+
     java.util.Optional<Professional> findByUserAccountIdAndCompanyId(UUID userAccountId, UUID companyId);
 
     @Modifying
@@ -0,0 +1,55 @@
+package com.farukgenc.boilerplate.springboot.repository;
+
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeJob;
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TenantPurgeJobRepository extends JpaRepository<TenantPurgeJob, UUID> {
+
+    Optional<TenantPurgeJob> findFirstByCompanyIdAndStatusIn(UUID companyId, Collection<TenantPurgeStatus> statuses);
+
+    @Query("SELECT j.id FROM TenantPurgeJob j WHERE j.status IN :statuses "
+            + "AND (j.leaseUntil IS NULL OR j.leaseUntil < :now)")
+    List<UUID> findResumableIds(@Param("statuses") Collection<TenantPurgeStatus> statuses,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Takes or renews the lease of an unfinished job; returns 0 when another node
+     * holds a valid lease.
+     */
+    @Modifying
+    @Query("UPDATE TenantPurgeJob j SET j.leaseOwner = :owner, j.leaseUntil = :until, "
+            + "j.status = com.farukgenc.boilerplate.springboot.model.TenantPurgeStatus.RUNNING, j.updatedAt = :now "
+            + "WHERE j.id = :id AND j.status IN (com.farukgenc.boilerplate.springboot.model.TenantPurgeStatus.PENDING, "
+            + "com.farukgenc.boilerplate.springboot.model.TenantPurgeStatus.RUNNING) "
+            + "AND (j.leaseUntil IS NULL OR j.leaseUntil < :now OR j.leaseOwner = :owner)")
+    int acquireLease(@Param("id") UUID id, @Param("owner") String owner, @Param("until") LocalDateTime until,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Records a deleted chunk and renews the lease, in the transaction of the
+     * delete; returns 0 when the lease was lost, so the chunk is rolled back.
+     */
+    @Modifying
+    @Query("UPDATE TenantPurgeJob j SET j.rowsDeleted = j.rowsDeleted + :deleted, j.currentStep = :step, "
+            + "j.leaseUntil = :until, j.updatedAt = :now WHERE j.id = :id AND j.leaseOwner = :owner")
+    int recordProgress(@Param("id") UUID id, @Param("owner") String owner, @Param("step") String step,
+            @Param("deleted") long deleted, @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE TenantPurgeJob j SET j.status = :status, j.error = :error, j.leaseOwner = NULL, "
+            + "j.leaseUntil = NULL, j.finishedAt = :now, j.updatedAt = :now WHERE j.id = :id AND j.leaseOwner = :owner")
+    int finish(@Param("id") UUID id, @Param("owner") String owner, @Param("status") TenantPurgeStatus status,
+            @Param("error") String error, @Param("now") LocalDateTime now);
+}
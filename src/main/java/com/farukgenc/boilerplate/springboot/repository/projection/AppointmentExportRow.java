@@ -0,0 +1,16 @@
+package com.farukgenc.boilerplate.springboot.repository.projection;
+
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat appointment row for exports; selected column by column, so no entity
+ * is ever loaded into the persistence context.
+ */
+public record AppointmentExportRow(UUID id, LocalDateTime startTime, LocalDateTime endTime, AppointmentStatus status,
+        UUID professionalId, String professionalName, UUID customerId, String customerName, String customerEmail,
+        String serviceName, BigDecimal servicePrice, String notes) {
+}
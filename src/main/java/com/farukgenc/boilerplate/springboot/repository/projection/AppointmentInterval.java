@@ -0,0 +1,11 @@
+package com.farukgenc.boilerplate.springboot.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Occupied time range of an appointment, selected without hydrating the
+ * Appointment entity graph.
+ */
+public record AppointmentInterval(UUID professionalId, LocalDateTime startTime, LocalDateTime endTime) {
+}
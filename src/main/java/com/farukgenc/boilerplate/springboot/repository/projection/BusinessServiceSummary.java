@@ -0,0 +1,12 @@
+package com.farukgenc.boilerplate.springboot.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Columns of a business service, selected without loading the entity; what
+ * the catalog cache keeps for single lookups and listings alike.
+ */
+public record BusinessServiceSummary(UUID id, UUID companyId, String name, String description, BigDecimal price,
+        Integer durationMinutes, boolean active) {
+}
@@ -0,0 +1,17 @@
+package com.farukgenc.boilerplate.springboot.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Columns of a company shown to its users and the public pages, selected
+ * without loading the entity.
+ */
+public record CompanySummary(UUID id, String legalName, String tradeName, String slug, boolean active) {
+
+    /**
+     * Trade name when the company has one, otherwise its legal name.
+     */
+    public String displayName() {
+        return tradeName != null ? tradeName : legalName;
+    }
+}
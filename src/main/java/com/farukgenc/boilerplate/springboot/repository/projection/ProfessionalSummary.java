@@ -0,0 +1,12 @@
+package com.farukgenc.boilerplate.springboot.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Columns of a professional and its user account, selected in one query
+ * without loading either entity; what the catalog cache keeps for single
+ * lookups and listings alike. {@code workingHours} is the raw JSON.
+ */
+public record ProfessionalSummary(UUID id, UUID companyId, String email, String fullName, String phoneNumber,
+        boolean active, String workingHours) {
+}
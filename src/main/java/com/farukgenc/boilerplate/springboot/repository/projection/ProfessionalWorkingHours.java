@@ -0,0 +1,10 @@
+package com.farukgenc.boilerplate.springboot.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Raw working_hours JSON of a professional, selected without loading the
+ * professional's user account.
+ */
+public record ProfessionalWorkingHours(UUID professionalId, UUID companyId, String workingHours) {
+}
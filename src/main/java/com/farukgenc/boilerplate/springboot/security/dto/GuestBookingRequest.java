@@ -16,4 +16,7 @@ public class GuestBookingRequest {
     private UUID professionalId;
     private UUID serviceId;
     private LocalDateTime appointmentTime;
+
+    // Optional token from POST /availability/holds, consumed by the booking
+    private UUID holdToken;
 }
@@ -0,0 +1,15 @@
+package com.farukgenc.boilerplate.springboot.security.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SlotHoldRequest {
+    private UUID professionalId;
+    private UUID serviceId;
+    private LocalDateTime appointmentTime;
+}
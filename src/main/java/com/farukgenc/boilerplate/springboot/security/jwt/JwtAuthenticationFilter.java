@@ -1,5 +1,6 @@
 package com.farukgenc.boilerplate.springboot.security.jwt;
 
+import com.farukgenc.boilerplate.springboot.security.TenantContext;
 import com.farukgenc.boilerplate.springboot.security.service.UserDetailsServiceImpl;
 import com.farukgenc.boilerplate.springboot.security.utils.SecurityConstants;
 import jakarta.servlet.FilterChain;
@@ -18,9 +19,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 @Slf4j
@@ -38,14 +39,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		final String header = request.getHeader(SecurityConstants.HEADER_STRING);
 
-		String username = null;
-		String authToken = null;
+		// The token is verified and decoded exactly once; everything below reads these claims
+		JwtClaims claims = null;
 		if (Objects.nonNull(header) && header.startsWith(SecurityConstants.TOKEN_PREFIX)) {
 
-			authToken = header.replace(SecurityConstants.TOKEN_PREFIX, Strings.EMPTY);
+			final String authToken = header.replace(SecurityConstants.TOKEN_PREFIX, Strings.EMPTY);
 
 			try {
-				username = jwtTokenManager.getUsernameFromToken(authToken);
+				claims = jwtTokenManager.verify(authToken);
 			} catch (Exception e) {
 				log.error("Authentication Exception : {}", e.getMessage());
 				chain.doFilter(request, response);
@@ -55,7 +56,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		final SecurityContext securityContext = SecurityContextHolder.getContext();
 
-		final boolean canBeStartTokenValidation = Objects.nonNull(username)
+		final boolean canBeStartTokenValidation = Objects.nonNull(claims)
+				&& Objects.nonNull(claims.subject())
 				&& Objects.isNull(securityContext.getAuthentication());
 
 		if (!canBeStartTokenValidation) {
@@ -63,40 +65,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			return;
 		}
 
+		final String username = claims.subject();
 		final UserDetails user = userDetailsService.loadUserByUsername(username);
-		final boolean validToken = jwtTokenManager.validateToken(authToken, user.getUsername());
 
-		if (!validToken) {
+		if (!username.equals(user.getUsername())) {
 			chain.doFilter(request, response);
 			return;
 		}
 
-		// Extract Company ID and set context
-		try {
-			String companyIdStr = com.auth0.jwt.JWT.decode(authToken).getClaim("companyId").asString();
-			if (companyIdStr != null) {
-				com.farukgenc.boilerplate.springboot.security.TenantContext
-						.setTenantId(java.util.UUID.fromString(companyIdStr));
-			}
-		} catch (Exception e) {
-			log.warn("Could not extract companyId from token: {}", e.getMessage());
+		if (Objects.nonNull(claims.companyId())) {
+			TenantContext.setTenantId(claims.companyId());
 		}
 
-		List<SimpleGrantedAuthority> authorities = new java.util.ArrayList<>();
-		try {
-			List<String> perms = com.auth0.jwt.JWT.decode(authToken).getClaim("permissions").asList(String.class);
-			if (perms != null) {
-				authorities = perms.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-			}
-
-			// Also grab the role and prefix it if necessary, though permissions usually
-			// suffice
-			String roleClaim = com.auth0.jwt.JWT.decode(authToken).getClaim("role").asString();
-			if (roleClaim != null) {
-				authorities.add(new SimpleGrantedAuthority("ROLE_" + roleClaim));
-			}
-		} catch (Exception e) {
-			log.warn("Could not extract permissions from token: {}", e.getMessage());
+		final List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+		claims.permissions().forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission)));
+		// Also grab the role and prefix it if necessary, though permissions usually
+		// suffice
+		if (Objects.nonNull(claims.role())) {
+			authorities.add(new SimpleGrantedAuthority("ROLE_" + claims.role()));
 		}
 
 		final UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null,
@@ -104,12 +90,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 		securityContext.setAuthentication(authentication);
 
-		log.info("Authentication successful. Logged in username : {} ", username);
+		log.debug("Authentication successful. Logged in username : {} ", username);
 
 		try {
 			chain.doFilter(request, response);
 		} finally {
-			com.farukgenc.boilerplate.springboot.security.TenantContext.clear();
+			TenantContext.clear();
 		}
 	}
 }
@@ -0,0 +1,22 @@
+package com.farukgenc.boilerplate.springboot.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims of a token whose signature and expiry were already checked by
+ * {@link JwtTokenManager#verify(String)}, read once so the rest of the request
+ * never decodes the token again.
+ *
+ * @param companyId   tenant the token was issued for, null for platform users
+ * @param role        role name within that tenant, may be null
+ * @param permissions permission names granted by the role, never null
+ */
+public record JwtClaims(String subject, UUID companyId, String role, List<String> permissions, Instant expiresAt) {
+
+	public JwtClaims {
+		permissions = permissions == null ? List.of() : List.copyOf(permissions);
+	}
+
+}
@@ -7,20 +7,30 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import com.farukgenc.boilerplate.springboot.model.UserAccount;
 import com.farukgenc.boilerplate.springboot.model.Role;
 import com.farukgenc.boilerplate.springboot.model.Permission;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 public class JwtTokenManager {
 
 	private final JwtProperties jwtProperties;
 
-	public String generateToken(UserAccount userAccount, java.util.UUID companyId, Role role) {
+	// Both are immutable and thread-safe, so they are built once instead of per token
+	private final Algorithm algorithm;
+
+	private final JWTVerifier jwtVerifier;
+
+	public JwtTokenManager(JwtProperties jwtProperties) {
+		this.jwtProperties = jwtProperties;
+		this.algorithm = Algorithm.HMAC256(jwtProperties.getSecretKey().getBytes());
+		this.jwtVerifier = JWT.require(algorithm).build();
+	}
+
+	public String generateToken(UserAccount userAccount, UUID companyId, Role role) {
 
 		final String username = userAccount.getEmail();
 
@@ -35,45 +45,26 @@ public class JwtTokenManager {
                 .withClaim("companyId", Objects.nonNull(companyId) ? companyId.toString() : null)
 				.withIssuedAt(new Date())
 				.withExpiresAt(new Date(System.currentTimeMillis() + jwtProperties.getExpirationMinute() * 60 * 1000))
-				.sign(Algorithm.HMAC256(jwtProperties.getSecretKey().getBytes()));
+				.sign(algorithm);
 		//@formatter:on
 	}
 
-	public String getUsernameFromToken(String token) {
-
-		final DecodedJWT decodedJWT = getDecodedJWT(token);
-
-		return decodedJWT.getSubject();
-	}
-
-	public boolean validateToken(String token, String authenticatedUsername) {
-
-		final String usernameFromToken = getUsernameFromToken(token);
-
-		final boolean equalsUsername = usernameFromToken.equals(authenticatedUsername);
-		final boolean tokenExpired = isTokenExpired(token);
-
-		return equalsUsername && !tokenExpired;
-	}
-
-	private boolean isTokenExpired(String token) {
-
-		final Date expirationDateFromToken = getExpirationDateFromToken(token);
-		return expirationDateFromToken.before(new Date());
-	}
-
-	private Date getExpirationDateFromToken(String token) {
-
-		final DecodedJWT decodedJWT = getDecodedJWT(token);
-
-		return decodedJWT.getExpiresAt();
-	}
+	/**
+	 * Verifies the token's signature and expiry and reads its claims in one
+	 * pass. Throws a {@code JWTVerificationException} when the token is invalid
+	 * or expired.
+	 */
+	public JwtClaims verify(String token) {
 
-	private DecodedJWT getDecodedJWT(String token) {
+		final DecodedJWT decodedJWT = jwtVerifier.verify(token);
 
-		final JWTVerifier jwtVerifier = JWT.require(Algorithm.HMAC256(jwtProperties.getSecretKey().getBytes())).build();
+		final String companyId = decodedJWT.getClaim("companyId").asString();
 
-		return jwtVerifier.verify(token);
+		return new JwtClaims(decodedJWT.getSubject(),
+				Objects.nonNull(companyId) ? UUID.fromString(companyId) : null,
+				decodedJWT.getClaim("role").asString(),
+				decodedJWT.getClaim("permissions").asList(String.class),
+				decodedJWT.getExpiresAtAsInstant());
 	}
 
 }
@@ -5,7 +5,7 @@ import com.farukgenc.boilerplate.springboot.model.UserAccount;
 import com.farukgenc.boilerplate.springboot.model.Role;
 import com.farukgenc.boilerplate.springboot.repository.CompanyUserRepository;
 import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
-import com.farukgenc.boilerplate.springboot.repository.RoleRepository;
+import com.farukgenc.boilerplate.springboot.service.CatalogCache;
 import com.farukgenc.boilerplate.springboot.security.dto.LoginRequest;
 import com.farukgenc.boilerplate.springboot.security.dto.LoginResponse;
 import lombok.RequiredArgsConstructor;
@@ -23,8 +23,7 @@ public class JwtTokenService {
 
 	private final UserAccountRepository userAccountRepository;
 	private final CompanyUserRepository companyUserRepository;
-	private final com.farukgenc.boilerplate.springboot.repository.CompanyRepository companyRepository;
-	private final RoleRepository roleRepository;
+	private final CatalogCache catalogCache;
 	private final JwtTokenManager jwtTokenManager;
 	private final AuthenticationManager authenticationManager;
 
@@ -44,7 +43,7 @@ public class JwtTokenService {
 																									// auth success
 
 		java.util.UUID companyId = loginRequest.getCompanyId();
-		Role role = roleRepository.findByName("PROFESSIONAL").orElse(null); // Default fallback if no company context,
+		Role role = catalogCache.role("PROFESSIONAL").orElse(null); // Default fallback if no company context,
 																			// or handle differently
 
 		String slug = null;
@@ -54,11 +53,10 @@ public class JwtTokenService {
 			CompanyUser companyUser = companyUserRepository.findByUserIdAndCompanyId(userAccount.getId(), companyId)
 					.orElseThrow(() -> new RuntimeException("User does not belong to the specified company"));
 			role = companyUser.getRole();
-			var companyOpt = companyRepository.findById(companyId);
+			var companyOpt = catalogCache.company(companyId);
 			if (companyOpt.isPresent()) {
-				slug = companyOpt.get().getSlug();
-				companyName = companyOpt.get().getTradeName() != null ? companyOpt.get().getTradeName()
-						: companyOpt.get().getLegalName();
+				slug = companyOpt.get().slug();
+				companyName = companyOpt.get().displayName();
 			}
 		} else {
 			// MVP: Try to find any company
@@ -67,17 +65,16 @@ public class JwtTokenService {
 				CompanyUser first = companies.get(0);
 				companyId = first.getCompanyId();
 				role = first.getRole();
-				var companyOpt = companyRepository.findById(companyId);
+				var companyOpt = catalogCache.company(companyId);
 				if (companyOpt.isPresent()) {
-					slug = companyOpt.get().getSlug();
-					companyName = companyOpt.get().getTradeName() != null ? companyOpt.get().getTradeName()
-							: companyOpt.get().getLegalName();
+					slug = companyOpt.get().slug();
+					companyName = companyOpt.get().displayName();
 				}
 			} else {
 				// User has no companies. Maybe a platform admin or just registered?
 				if (userAccount.isAdmin()) {
 					companyId = null;
-					role = roleRepository.findByName("ADMIN").orElse(null);
+					role = catalogCache.role("ADMIN").orElse(null);
 				} else {
 					throw new RuntimeException("User has no companies and is not an Admin");
 				}
@@ -9,9 +9,9 @@ import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
 import com.farukgenc.boilerplate.springboot.repository.CompanyUserRepository;
 import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
 import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
-import com.farukgenc.boilerplate.springboot.repository.RoleRepository;
 import com.farukgenc.boilerplate.springboot.security.dto.RegistrationRequest;
 import com.farukgenc.boilerplate.springboot.security.dto.RegistrationResponse;
+import com.farukgenc.boilerplate.springboot.service.CatalogCache;
 import com.farukgenc.boilerplate.springboot.service.UserValidationService;
 import com.farukgenc.boilerplate.springboot.utils.GeneralMessageAccessor;
 import lombok.RequiredArgsConstructor;
@@ -31,7 +31,7 @@ public class UserServiceImpl implements UserService {
 	private final CompanyRepository companyRepository;
 	private final CompanyUserRepository companyUserRepository;
 	private final ProfessionalRepository professionalRepository;
-	private final RoleRepository roleRepository;
+	private final CatalogCache catalogCache;
 
 	private final BCryptPasswordEncoder bCryptPasswordEncoder;
 
@@ -76,7 +76,7 @@ public class UserServiceImpl implements UserService {
 		CompanyUser companyUser = CompanyUser.builder()
 				.companyId(company.getId())
 				.userId(user.getId())
-				.role(roleRepository.findByName("OWNER")
+				.role(catalogCache.role("OWNER")
 						.orElseThrow(() -> new RuntimeException("Role OWNER not found")))
 				.build();
 
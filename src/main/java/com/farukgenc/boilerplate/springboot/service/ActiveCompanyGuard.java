@@ -0,0 +1,33 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+
+/**
+ * Refuses new bookings, holds, customers, professionals and services for a
+ * company that was deactivated, by a platform admin or because its purge has
+ * started. Rows added while {@link TenantPurgeService} deletes the company
+ * would otherwise fail the deletion of their parent tables.
+ * <p>
+ * Called inside the write's transaction: the share lock on the company row
+ * makes a concurrent deactivation wait until that write has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveCompanyGuard {
+
+    private final CompanyRepository companyRepository;
+
+    public void requireActive(UUID companyId) {
+        boolean active = companyRepository.findActiveForShare(companyId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Company not found"));
+        if (!active) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Company is not active");
+        }
+    }
+}
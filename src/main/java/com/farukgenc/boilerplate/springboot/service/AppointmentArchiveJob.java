@@ -0,0 +1,79 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.ArchiveProperties;
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Moves completed and cancelled appointments older than
+ * {@code archive.after-months} from {@code appointment} to
+ * {@code appointment_archive}, so the hot table and its indexes only hold rows
+ * the booking path may still touch.
+ * <p>
+ * Each batch is a single DELETE ... RETURNING feeding an INSERT, so a row is
+ * always in exactly one of the two tables. An id already present in the
+ * archive fails the batch, which rolls back with the row still in place, and
+ * stops the run. Nodes running the job at the same time simply share the work.
+ */
+@Slf4j
+@Component
+public class AppointmentArchiveJob {
+
+    private static final String MOVE_BATCH = """
+            WITH moved AS (
+                DELETE FROM appointment
+                WHERE (id, start_time) IN (
+                    SELECT id, start_time FROM appointment
+                    WHERE start_time < ? AND status IN (?, ?)
+                    LIMIT ?)
+                RETURNING id, company_id, professional_id, customer_id, service_id, start_time, end_time, status,
+                          notes, created_at, updated_at)
+            INSERT INTO appointment_archive (id, company_id, professional_id, customer_id, service_id, start_time,
+                                             end_time, status, notes, created_at, updated_at)
+            SELECT id, company_id, professional_id, customer_id, service_id, start_time, end_time, status, notes,
+                   created_at, updated_at
+            FROM moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public AppointmentArchiveJob(JdbcTemplate jdbcTemplate, ArchiveProperties archiveProperties,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveProperties = archiveProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void archiveOldAppointments() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMonths(archiveProperties.getAfterMonths()));
+        long total = 0;
+        int moved;
+        try {
+            do {
+                moved = transactionTemplate.execute(status -> jdbcTemplate.update(MOVE_BATCH, cutoff,
+                        AppointmentStatus.COMPLETED.name(), AppointmentStatus.CANCELED.name(),
+                        archiveProperties.getBatchSize()));
+                total += moved;
+                Thread.sleep(archiveProperties.getBatchPauseMillis());
+            } while (moved == archiveProperties.getBatchSize());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.error("Archiving stopped after {} appointments; the failed batch was rolled back", total, e);
+            return;
+        }
+        log.info("Archived {} appointments that started before {}", total, cutoff);
+    }
+}
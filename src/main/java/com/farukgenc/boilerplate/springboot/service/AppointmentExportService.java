@@ -0,0 +1,106 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes a company's appointments, archived ones included, to an output stream
+ * row by row. Rows are read through a server-side cursor as DTO projections, so
+ * neither the result set nor the persistence context grows with the number of
+ * appointments.
+ */
+@Service
+public class AppointmentExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final int FLUSH_EVERY_ROWS = 1_000;
+
+    private static final String CSV_HEADER = "id,start_time,end_time,status,professional_id,professional_name,"
+            + "customer_id,customer_name,customer_email,service_name,service_price,notes";
+
+    // Leading characters that make spreadsheet applications read a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final AppointmentHistoryService appointmentHistoryService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AppointmentExportService(AppointmentHistoryService appointmentHistoryService, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.appointmentHistoryService = appointmentHistoryService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams the export. Runs its own read-only transaction, so it can be
+     * called from the async thread of a {@code StreamingResponseBody}; the
+     * company id must be captured by the caller beforehand.
+     * <p>
+     * In CSV, text cells starting with a formula character are prefixed with
+     * an apostrophe, so opening the file in a spreadsheet shows them as text.
+     */
+    public void export(UUID companyId, Format format, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<AppointmentExportRow> rows = appointmentHistoryService.streamAll(companyId)) {
+                if (format == Format.CSV) {
+                    writer.write(CSV_HEADER);
+                    writer.write('\n');
+                }
+                int written = 0;
+                for (AppointmentExportRow row : (Iterable<AppointmentExportRow>) rows::iterator) {
+                    writer.write(format == Format.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                    if (++written % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String toCsv(AppointmentExportRow row) {
+        return String.join(",",
+                csv(row.id()), csv(row.startTime()), csv(row.endTime()), csv(row.status()),
+                csv(row.professionalId()), csv(row.professionalName()),
+                csv(row.customerId()), csv(row.customerName()), csv(row.customerEmail()),
+                csv(row.serviceName()), csv(row.servicePrice()), csv(row.notes()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = Objects.toString(value);
+        // Free text comes from customers; a spreadsheet would evaluate it as a formula
+        if (value instanceof String && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = '\'' + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
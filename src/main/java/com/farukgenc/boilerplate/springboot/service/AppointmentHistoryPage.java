@@ -0,0 +1,12 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentExportRow;
+
+import java.util.List;
+
+/**
+ * One keyset page of appointment history, live and archived rows merged in
+ * start time order; {@code nextCursor} is null on the last page.
+ */
+public record AppointmentHistoryPage(List<AppointmentExportRow> rows, String nextCursor) {
+}
@@ -0,0 +1,156 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Reporting view over every appointment of a company, whether it still lives
+ * in {@code appointment} or was moved to {@code appointment_archive} by
+ * {@link AppointmentArchiveJob}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentHistoryService {
+
+    // Each branch is cut to the page size on its own index before the merge, so a
+    // page never reads more than twice its size whatever the table sizes
+    private static final String BRANCH = """
+            (SELECT id, professional_id, customer_id, service_id, start_time, end_time, status, notes
+             FROM %s
+             WHERE company_id = ? AND start_time >= ? AND start_time < ? AND (start_time, id) > (?, ?)%s
+             ORDER BY start_time, id
+             LIMIT ?)
+            """;
+
+    private static final String PAGE = """
+            SELECT h.id, h.start_time, h.end_time, h.status, h.professional_id, pu.full_name AS professional_name,
+                   h.customer_id, COALESCE(cu.full_name, c.full_name) AS customer_name,
+                   COALESCE(cu.email, c.email) AS customer_email, s.name AS service_name, s.price AS service_price,
+                   h.notes
+            FROM (%s UNION ALL %s) h
+            LEFT JOIN professional p ON p.id = h.professional_id
+            LEFT JOIN user_account pu ON pu.id = p.user_account_id
+            LEFT JOIN customer c ON c.id = h.customer_id
+            LEFT JOIN user_account cu ON cu.id = c.user_account_id
+            LEFT JOIN business_service s ON s.id = h.service_id
+            ORDER BY h.start_time, h.id
+            LIMIT ?
+            """;
+
+    // Whole-company read for exports; rows are only sorted, never held in memory
+    private static final String ALL = """
+            SELECT h.id, h.start_time, h.end_time, h.status, h.professional_id, pu.full_name AS professional_name,
+                   h.customer_id, COALESCE(cu.full_name, c.full_name) AS customer_name,
+                   COALESCE(cu.email, c.email) AS customer_email, s.name AS service_name, s.price AS service_price,
+                   h.notes
+            FROM (SELECT id, professional_id, customer_id, service_id, start_time, end_time, status, notes
+                  FROM appointment WHERE company_id = ?
+                  UNION ALL
+                  SELECT id, professional_id, customer_id, service_id, start_time, end_time, status, notes
+                  FROM appointment_archive WHERE company_id = ?) h
+            LEFT JOIN professional p ON p.id = h.professional_id
+            LEFT JOIN user_account pu ON pu.id = p.user_account_id
+            LEFT JOIN customer c ON c.id = h.customer_id
+            LEFT JOIN user_account cu ON cu.id = c.user_account_id
+            LEFT JOIN business_service s ON s.id = h.service_id
+            ORDER BY h.start_time, h.id
+            """;
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String PAGE_BY_COMPANY = PAGE.formatted(BRANCH.formatted("appointment", ""),
+            BRANCH.formatted("appointment_archive", ""));
+
+    private static final String PAGE_BY_PROFESSIONAL = PAGE.formatted(
+            BRANCH.formatted("appointment", " AND professional_id = ?"),
+            BRANCH.formatted("appointment_archive", " AND professional_id = ?"));
+
+    private static final RowMapper<AppointmentExportRow> ROW_MAPPER = (rs, rowNum) -> new AppointmentExportRow(
+            rs.getObject("id", UUID.class),
+            rs.getTimestamp("start_time").toLocalDateTime(),
+            rs.getTimestamp("end_time").toLocalDateTime(),
+            AppointmentStatus.valueOf(rs.getString("status")),
+            rs.getObject("professional_id", UUID.class),
+            rs.getString("professional_name"),
+            rs.getObject("customer_id", UUID.class),
+            rs.getString("customer_name"),
+            rs.getString("customer_email"),
+            rs.getString("service_name"),
+            rs.getBigDecimal("service_price"),
+            rs.getString("notes"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Every appointment of the company, live and archived, as flat rows in start
+     * time order, fetched from a server-side cursor in chunks. Must be consumed
+     * inside a transaction, which Postgres needs to keep the cursor open, and
+     * closed.
+     */
+    public Stream<AppointmentExportRow> streamAll(UUID companyId) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ALL);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setObject(1, companyId);
+            statement.setObject(2, companyId);
+            return statement;
+        }, ROW_MAPPER);
+    }
+
+    /**
+     * Appointments of the company, optionally of one professional, with a start
+     * time in {@code [from, to)}, ordered by start time. Pass the previous
+     * page's {@link AppointmentHistoryPage#nextCursor()} to continue.
+     */
+    @Transactional(readOnly = true)
+    public AppointmentHistoryPage findPage(UUID companyId, UUID professionalId, LocalDateTime from,
+            LocalDateTime to, String cursor, int limit) {
+        if (limit < 1 || limit > AppointmentService.MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + AppointmentService.MAX_PAGE_SIZE);
+        }
+
+        Timestamp windowStart = Timestamp.valueOf(from != null ? from : AppointmentService.EARLIEST);
+        Timestamp windowEnd = Timestamp.valueOf(to != null ? to : AppointmentService.LATEST);
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor)
+                : KeysetCursor.before(windowStart.toLocalDateTime());
+        // One extra row tells whether another page follows
+        int fetchLimit = limit + 1;
+
+        List<Object> branchArgs = new ArrayList<>(List.of(companyId, windowStart, windowEnd,
+                Timestamp.valueOf(after.time()), after.id()));
+        if (professionalId != null) {
+            branchArgs.add(professionalId);
+        }
+        branchArgs.add(fetchLimit);
+
+        List<Object> args = new ArrayList<>(branchArgs);
+        args.addAll(branchArgs);
+        args.add(fetchLimit);
+
+        List<AppointmentExportRow> rows = jdbcTemplate.query(
+                professionalId != null ? PAGE_BY_PROFESSIONAL : PAGE_BY_COMPANY, ROW_MAPPER, args.toArray());
+
+        if (rows.size() <= limit) {
+            return new AppointmentHistoryPage(rows, null);
+        }
+        List<AppointmentExportRow> page = rows.subList(0, limit);
+        AppointmentExportRow last = page.get(limit - 1);
+        return new AppointmentHistoryPage(page, new KeysetCursor(last.startTime(), last.id()).encode());
+    }
+}
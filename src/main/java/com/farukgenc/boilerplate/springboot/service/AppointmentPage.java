@@ -0,0 +1,11 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.model.Appointment;
+
+import java.util.List;
+
+/**
+ * One keyset page of appointments; {@code nextCursor} is null on the last page.
+ */
+public record AppointmentPage(List<Appointment> appointments, String nextCursor) {
+}
@@ -1,5 +1,7 @@
 package com.farukgenc.boilerplate.springboot.service;
 
+import com.farukgenc.boilerplate.springboot.configuration.PartitionProperties;
+import com.farukgenc.boilerplate.springboot.exceptions.AppointmentConflictException;
 import com.farukgenc.boilerplate.springboot.model.Appointment;
 import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
 import com.farukgenc.boilerplate.springboot.model.BusinessService;
@@ -8,10 +10,23 @@ import com.farukgenc.boilerplate.springboot.repository.AppointmentRepository;
 import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
 import com.farukgenc.boilerplate.springboot.repository.CustomerRepository;
 import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary;
+import com.farukgenc.boilerplate.springboot.security.dto.GuestBookingRequest;
+import com.farukgenc.boilerplate.springboot.security.dto.SlotHoldRequest;
+import com.farukgenc.boilerplate.springboot.utils.ExceptionMessageAccessor;
+import com.farukgenc.boilerplate.springboot.utils.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,36 +34,91 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AppointmentService {
 
+    private static final String APPOINTMENT_TIME_UNAVAILABLE = "appointment_time_unavailable";
+
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    // Open ends of the listing window, inside Postgres' timestamp range
+    static final java.time.LocalDateTime EARLIEST = java.time.LocalDateTime.of(1900, 1, 1, 0, 0);
+    static final java.time.LocalDateTime LATEST = java.time.LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    // SQLSTATE raised by Postgres when an EXCLUDE constraint (appointment_YYYY_MM_no_overlap) rejects a row
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    // SQLSTATE raised, among others, when no appointment partition covers the row's start_time
+    private static final String CHECK_VIOLATION = "23514";
+
     private final AppointmentRepository appointmentRepository;
     private final AvailabilityService availabilityService;
+    private final AvailabilityIndex availabilityIndex;
     private final ProfessionalRepository professionalRepository;
-    private final BusinessServiceRepository businessServiceRepository;
     private final CustomerRepository customerRepository;
+    private final BusinessServiceRepository businessServiceRepository;
+    private final CatalogCache catalogCache;
+    private final ActiveCompanyGuard activeCompanyGuard;
+    private final PartitionProperties partitionProperties;
 
     private final com.farukgenc.boilerplate.springboot.repository.UserAccountRepository userAccountRepository;
     private final com.farukgenc.boilerplate.springboot.repository.CompanyUserRepository companyUserRepository;
 
-    public List<Appointment> findAllForUser(UUID companyId, String email) {
+    private final ExceptionMessageAccessor exceptionMessageAccessor;
+
+    /**
+     * One page of the user's appointments (all of the company's, or only their
+     * own for professionals) ordered by start time, optionally restricted to
+     * {@code [from, to)} and to some statuses. Pass the previous page's
+     * {@link AppointmentPage#nextCursor()} to continue.
+     */
+    @Transactional(readOnly = true)
+    public AppointmentPage findPageForUser(UUID companyId, String email, java.time.LocalDateTime from,
+            java.time.LocalDateTime to, Collection<AppointmentStatus> statuses, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
         com.farukgenc.boilerplate.springboot.model.UserAccount user = userAccountRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         com.farukgenc.boilerplate.springboot.model.CompanyUser companyUser = companyUserRepository
                 .findByUserIdAndCompanyId(user.getId(), companyId)
                 .orElseThrow(() -> new RuntimeException("User not in company"));
 
+        java.time.LocalDateTime windowStart = from != null ? from : EARLIEST;
+        java.time.LocalDateTime windowEnd = to != null ? to : LATEST;
+        Collection<AppointmentStatus> statusFilter = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(AppointmentStatus.class)
+                : statuses;
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor)
+                : KeysetCursor.before(windowStart);
+        // One extra row tells whether another page follows
+        Limit fetchLimit = Limit.of(limit + 1);
+
+        List<Appointment> appointments;
         if ("PROFESSIONAL".equals(companyUser.getRole().getName())) {
             Professional prof = professionalRepository.findByUserAccountIdAndCompanyId(user.getId(), companyId)
                     .orElseThrow(() -> new RuntimeException("Professional profile not found"));
-            return appointmentRepository.findByCompanyIdAndProfessionalId(companyId, prof.getId());
+            appointments = appointmentRepository.findPageByCompanyIdAndProfessionalId(companyId, prof.getId(),
+                    windowStart, windowEnd, statusFilter, after.time(), after.id(), fetchLimit);
+        } else {
+            appointments = appointmentRepository.findPageByCompanyId(companyId, windowStart, windowEnd, statusFilter,
+                    after.time(), after.id(), fetchLimit);
         }
 
-        return appointmentRepository.findByCompanyId(companyId);
+        if (appointments.size() <= limit) {
+            return new AppointmentPage(appointments, null);
+        }
+        List<Appointment> page = appointments.subList(0, limit);
+        Appointment last = page.get(limit - 1);
+        return new AppointmentPage(page, new KeysetCursor(last.getStartTime(), last.getId()).encode());
     }
 
     @Transactional
     public Appointment createAppointment(UUID companyId, UUID professionalId, UUID businessServiceId, UUID customerId,
             java.time.LocalDateTime startTime, java.time.LocalDateTime endTime) {
 
-        // 1. Validate Professional
+        activeCompanyGuard.requireActive(companyId);
+
+        // 1. Validate Professional, read in this transaction rather than from the catalog
+        // cache, which may still hold one deleted on another node
         Professional professional = professionalRepository.findById(professionalId)
                 .orElseThrow(() -> new RuntimeException("Professional not found"));
 
@@ -56,6 +126,11 @@ public class AppointmentService {
             throw new RuntimeException("Professional does not belong to this company");
         }
 
+        if (!endTime.isAfter(startTime)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        requireWithinBookingHorizon(startTime);
+
         Appointment.AppointmentBuilder<?, ?> builder = Appointment.builder()
                 .companyId(companyId)
                 .professional(professional)
@@ -71,9 +146,9 @@ public class AppointmentService {
                 throw new RuntimeException("Service does not belong to this company");
             }
 
-            // 3. Check Availability
+            // 3. Check Availability (in-memory fast path, the database has the final word on insert)
             if (!availabilityService.isAvailable(professionalId, startTime, endTime)) {
-                throw new RuntimeException("Professional is not available for the selected time.");
+                throw timeUnavailable();
             }
 
             builder.service(service).status(AppointmentStatus.SCHEDULED);
@@ -89,8 +164,9 @@ public class AppointmentService {
             builder.status(AppointmentStatus.BLOCKED);
         }
 
-        Appointment appointment = builder.build();
-        return appointmentRepository.save(appointment);
+        Appointment appointment = insertBooking(builder.build());
+        availabilityIndex.invalidate(professionalId, startTime.toLocalDate());
+        return appointment;
     }
 
     @Transactional
@@ -98,7 +174,9 @@ public class AppointmentService {
             java.util.UUID companyId,
             com.farukgenc.boilerplate.springboot.security.dto.GuestBookingRequest request) {
 
-        // 1. Validate Professional
+        activeCompanyGuard.requireActive(companyId);
+
+        // 1. Validate Professional, read in this transaction like in createAppointment
         Professional professional = professionalRepository.findById(request.getProfessionalId())
                 .orElseThrow(() -> new RuntimeException("Professional not found"));
         if (!professional.getCompanyId().equals(companyId)) {
@@ -115,9 +193,12 @@ public class AppointmentService {
         // 3. Calculator End Time and Check Availability
         java.time.LocalDateTime startTime = request.getAppointmentTime();
         java.time.LocalDateTime endTime = startTime.plusMinutes(service.getDurationMinutes());
+        requireWithinBookingHorizon(startTime);
 
-        if (!availabilityService.isAvailable(request.getProfessionalId(), startTime, endTime)) {
-            throw new RuntimeException("Professional is not available for the selected time.");
+        // The customer's own hold does not block the booking; anyone else's does
+        if (!availabilityService.isAvailable(request.getProfessionalId(), startTime, endTime,
+                request.getHoldToken())) {
+            throw timeUnavailable();
         }
 
         // 4. Handle Customer (Guest logic)
@@ -144,13 +225,130 @@ public class AppointmentService {
                 .status(AppointmentStatus.SCHEDULED)
                 .build();
 
-        return appointmentRepository.save(appointment);
+        appointment = insertBooking(appointment);
+        availabilityIndex.invalidate(professional.getId(), startTime.toLocalDate());
+        if (request.getHoldToken() != null) {
+            TransactionCallbacks.afterCommit(() -> availabilityService.releaseHold(request.getHoldToken()));
+        }
+        return appointment;
     }
 
+    /**
+     * Holds the slot a guest picked while they fill in the booking form. The
+     * returned token is passed back in {@link GuestBookingRequest#getHoldToken()}.
+     * {@code client} identifies the caller for the per-client hold limits.
+     */
+    public SlotHold holdGuestSlot(UUID companyId, SlotHoldRequest request, String client) {
+        activeCompanyGuard.requireActive(companyId);
+
+        ProfessionalSummary professional = catalogCache.professional(request.getProfessionalId())
+                .orElseThrow(() -> new RuntimeException("Professional not found"));
+        if (!professional.companyId().equals(companyId)) {
+            throw new RuntimeException("Professional does not belong to this company");
+        }
+
+        BusinessServiceSummary service = catalogCache.businessService(request.getServiceId())
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+        if (!service.companyId().equals(companyId)) {
+            throw new RuntimeException("Service does not belong to this company");
+        }
+
+        java.time.LocalDateTime startTime = request.getAppointmentTime();
+        java.time.LocalDateTime endTime = startTime.plusMinutes(service.durationMinutes());
+
+        return availabilityService.placeHold(professional.id(), startTime, endTime, client)
+                .orElseThrow(this::timeUnavailable);
+    }
+
+    /**
+     * Partitions of {@code appointment} exist up to {@code partitions.months-ahead}
+     * months after the current one, so later bookings are refused up front
+     * instead of failing on insert.
+     */
+    private void requireWithinBookingHorizon(java.time.LocalDateTime startTime) {
+        java.time.LocalDateTime horizon = java.time.LocalDate.now().withDayOfMonth(1)
+                .plusMonths(partitionProperties.getMonthsAhead() + 1L).atStartOfDay();
+        if (!startTime.isBefore(horizon)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Appointments can be booked at most " + partitionProperties.getMonthsAhead() + " months ahead");
+        }
+    }
+
+    /**
+     * Lets the per-partition *_no_overlap exclusion constraints reject
+     * concurrent double bookings within a month, which are reported as a
+     * conflict. A start time no partition covers, e.g. before the oldest one,
+     * is reported as a bad request.
+     */
+    private Appointment insertBooking(Appointment appointment) {
+        requireNoOverlapInOtherMonth(appointment);
+        try {
+            return appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            if (hasSqlState(e, EXCLUSION_VIOLATION)) {
+                throw timeUnavailable();
+            }
+            if (hasSqlState(e, CHECK_VIOLATION)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Appointment time is outside the bookable range");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Each monthly partition carries its own exclusion constraint, so an
+     * appointment running past midnight into the next month, e.g. 23:30 on Jan
+     * 31 to 00:30 on Feb 1, is not checked against the Feb 1 00:00 one. The
+     * booking takes the professional's month lock shared, and exclusively every
+     * later month it runs into, always in calendar order; a booking and an
+     * appointment reaching into its month from an earlier one are thus
+     * serialized, and the second sees the first once it holds the lock.
+     */
+    private void requireNoOverlapInOtherMonth(Appointment appointment) {
+        UUID professionalId = appointment.getProfessional().getId();
+        java.time.LocalDateTime monthStart = appointment.getStartTime().toLocalDate().withDayOfMonth(1).atStartOfDay();
+        java.time.LocalDateTime nextMonthStart = monthStart.plusMonths(1);
+
+        appointmentRepository.lockMonthShared(professionalId, monthKey(monthStart));
+        for (java.time.LocalDateTime month = nextMonthStart; month.isBefore(appointment.getEndTime());
+                month = month.plusMonths(1)) {
+            appointmentRepository.lockMonth(professionalId, monthKey(month));
+        }
+
+        if (appointmentRepository.existsOverlapInOtherMonth(professionalId, appointment.getStartTime(),
+                appointment.getEndTime(), monthStart, nextMonthStart)) {
+            throw timeUnavailable();
+        }
+    }
+
+    private static int monthKey(java.time.LocalDateTime monthStart) {
+        return monthStart.getYear() * 12 + monthStart.getMonthValue() - 1;
+    }
+
+    private boolean hasSqlState(Throwable throwable, String sqlState) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlState.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AppointmentConflictException timeUnavailable() {
+        return new AppointmentConflictException(exceptionMessageAccessor.getMessage(null, APPOINTMENT_TIME_UNAVAILABLE));
+    }
+
+    @Transactional
     public void cancelAppointment(UUID id) {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
+        if (appointment.getStatus() == AppointmentStatus.CANCELED) {
+            return;
+        }
         appointment.setStatus(AppointmentStatus.CANCELED);
         appointmentRepository.save(appointment);
+        availabilityIndex.invalidate(appointment.getProfessional().getId(),
+                appointment.getStartTime().toLocalDate());
     }
 }
@@ -0,0 +1,12 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.model.AuditLog;
+
+import java.util.List;
+
+/**
+ * One keyset page of the audit trail, newest first; {@code nextCursor} is null
+ * on the last page.
+ */
+public record AuditLogPage(List<AuditLog> entries, String nextCursor) {
+}
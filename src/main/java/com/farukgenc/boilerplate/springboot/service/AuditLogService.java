@@ -0,0 +1,64 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.model.AuditLog;
+import com.farukgenc.boilerplate.springboot.repository.AuditLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AuditLogService {
+
+    public static final int MAX_PAGE_SIZE = 1_000;
+
+    /**
+     * Window searched when the caller gives no {@code from}, ending at
+     * {@code to} or now, so a query only scans the most recent partitions.
+     */
+    static final Duration DEFAULT_WINDOW = Duration.ofDays(30);
+
+    private final AuditLogRepository auditLogRepository;
+
+    /**
+     * One page of the company's audit trail, newest first, optionally
+     * restricted to an entity and a principal, within {@code [from, to)}.
+     * {@code to} defaults to now and {@code from} to {@link #DEFAULT_WINDOW}
+     * before it. Pass the previous page's {@link AuditLogPage#nextCursor()} to
+     * continue.
+     */
+    @Transactional(readOnly = true)
+    public AuditLogPage findPage(UUID companyId, String entityName, String entityId, String principal,
+            LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // A bounded window lets Postgres prune every partition outside it
+        LocalDateTime windowEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime windowStart = from != null ? from : windowEnd.minus(DEFAULT_WINDOW);
+        if (!windowStart.isBefore(windowEnd)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From must be before to");
+        }
+        KeysetCursor before = cursor != null ? KeysetCursor.decode(cursor) : KeysetCursor.after(windowEnd);
+
+        // One extra row tells whether another page follows
+        List<AuditLog> entries = auditLogRepository.findPageByCompanyId(companyId, windowStart, windowEnd,
+                entityName, entityId, principal, before.time(), before.id(), Limit.of(limit + 1));
+
+        if (entries.size() <= limit) {
+            return new AuditLogPage(entries, null);
+        }
+        List<AuditLog> page = entries.subList(0, limit);
+        AuditLog last = page.get(limit - 1);
+        return new AuditLogPage(page, new KeysetCursor(last.getTimestamp(), last.getId()).encode());
+    }
+}
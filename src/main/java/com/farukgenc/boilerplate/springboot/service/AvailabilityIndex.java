@@ -0,0 +1,189 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.repository.AppointmentRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+import com.farukgenc.boilerplate.springboot.utils.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Resident per-professional, per-day index of occupied intervals consulted by
+ * {@link AvailabilityService} instead of querying the database on every check.
+ * <p>
+ * Days are loaded lazily with a single query and evicted when the size bound is
+ * reached or a fixed time after loading, however often they are read, so
+ * changes made by other nodes become visible within that time. The appointment
+ * write paths drop the days they touch once their transaction commits, and the
+ * next read loads them fresh.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Cache<DayKey, DayOccupancy> days;
+
+    // Bumped before a day is dropped, per stripe of professionals. A bulk load
+    // whose stripe moved while it ran may have read the state from before the
+    // commit, so its result is returned but not cached
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public AvailabilityIndex(AppointmentRepository appointmentRepository, AvailabilityProperties properties,
+            MeterRegistry meterRegistry) {
+        this.appointmentRepository = appointmentRepository;
+        this.days = Caffeine.newBuilder()
+                .maximumSize(properties.getIndex().getMaxEntries())
+                .expireAfterWrite(Duration.ofMinutes(properties.getIndex().getTtlMinutes()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, days, "availabilityIndex");
+        Gauge.builder("availability.index.memory", this, AvailabilityIndex::estimatedBytes)
+                .description("Estimated heap used by the cached occupied intervals")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("availability.index.intervals", this, AvailabilityIndex::intervalCount)
+                .description("Occupied intervals held in the availability index")
+                .register(meterRegistry);
+    }
+
+    public DayOccupancy get(UUID professionalId, LocalDate date) {
+        // A single load holds the key's lock, so a concurrent drop waits for it
+        // and then removes what it stored
+        return days.get(new DayKey(professionalId, date), this::load);
+    }
+
+    /**
+     * Occupancy of every day from {@code from} to {@code to} inclusive, in date
+     * order. Days missing from the index are loaded together with one query.
+     */
+    public Map<LocalDate, DayOccupancy> getRange(UUID professionalId, LocalDate from, LocalDate to) {
+        return getRange(List.of(professionalId), from, to).get(professionalId);
+    }
+
+    /**
+     * Same as {@link #getRange(UUID, LocalDate, LocalDate)} for several
+     * professionals at once, keyed by professional id. Whatever is missing for
+     * all of them is still loaded with one query.
+     */
+    public Map<UUID, Map<LocalDate, DayOccupancy>> getRange(Collection<UUID> professionalIds, LocalDate from,
+            LocalDate to) {
+        List<DayKey> keys = new ArrayList<>();
+        for (UUID professionalId : professionalIds) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                keys.add(new DayKey(professionalId, date));
+            }
+        }
+
+        Map<DayKey, DayOccupancy> loaded = new HashMap<>(days.getAllPresent(keys));
+        Set<DayKey> missing = new HashSet<>();
+        for (DayKey key : keys) {
+            if (!loaded.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Unlike a single load, a bulk load does not lock its keys
+            Map<DayKey, Long> versionsBefore = new HashMap<>();
+            for (DayKey key : missing) {
+                versionsBefore.put(key, versions.get(stripe(key)));
+            }
+            loadAll(missing).forEach((key, day) -> loaded.put(key,
+                    cacheUnlessChanged(key, day, versionsBefore.get(key))));
+        }
+
+        Map<UUID, Map<LocalDate, DayOccupancy>> ranges = new LinkedHashMap<>();
+        for (DayKey key : keys) {
+            ranges.computeIfAbsent(key.professionalId(), id -> new LinkedHashMap<>())
+                    .put(key.date(), loaded.get(key));
+        }
+        return ranges;
+    }
+
+    /**
+     * Drops the professional's day once the current transaction commits, after
+     * a booking or cancellation on it. Dropping rather than patching the cached
+     * day means a load racing the commit cannot leave a pre-commit copy behind.
+     */
+    public void invalidate(UUID professionalId, LocalDate date) {
+        DayKey key = new DayKey(professionalId, date);
+        TransactionCallbacks.afterCommit(() -> {
+            versions.incrementAndGet(stripe(key));
+            days.invalidate(key);
+        });
+    }
+
+    private DayOccupancy cacheUnlessChanged(DayKey key, DayOccupancy day, long versionBefore) {
+        // Checked under the key's lock, which a concurrent invalidate also takes
+        DayOccupancy cached = days.asMap().compute(key, (k, current) -> current != null ? current
+                : versions.get(stripe(k)) == versionBefore ? day : null);
+        return cached != null ? cached : day;
+    }
+
+    private static int stripe(DayKey key) {
+        return Math.floorMod(key.professionalId().hashCode(), VERSION_STRIPES);
+    }
+
+    private DayOccupancy load(DayKey key) {
+        LocalDateTime dayStart = key.date().atStartOfDay();
+        LocalDateTime dayEnd = key.date().plusDays(1).atStartOfDay();
+
+        return DayOccupancy.of(appointmentRepository.findOccupiedIntervals(key.professionalId(), dayStart, dayEnd));
+    }
+
+    private Map<DayKey, DayOccupancy> loadAll(Set<DayKey> keys) {
+        Set<UUID> professionalIds = new HashSet<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+        for (DayKey key : keys) {
+            professionalIds.add(key.professionalId());
+            from = key.date().isBefore(from) ? key.date() : from;
+            to = key.date().isAfter(to) ? key.date() : to;
+        }
+
+        Map<DayKey, List<AppointmentInterval>> byDay = new HashMap<>();
+        for (AppointmentInterval interval : appointmentRepository.findOccupiedIntervals(professionalIds,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            byDay.computeIfAbsent(new DayKey(interval.professionalId(), interval.startTime().toLocalDate()),
+                    key -> new ArrayList<>()).add(interval);
+        }
+
+        Map<DayKey, DayOccupancy> loaded = new HashMap<>();
+        for (DayKey key : keys) {
+            loaded.put(key, DayOccupancy.of(byDay.getOrDefault(key, List.of())));
+        }
+        return loaded;
+    }
+
+    private double estimatedBytes() {
+        return days.asMap().values().stream().mapToLong(DayOccupancy::estimatedBytes).sum();
+    }
+
+    private double intervalCount() {
+        return days.asMap().values().stream().mapToInt(DayOccupancy::size).sum();
+    }
+
+    private record DayKey(UUID professionalId, LocalDate date) {
+    }
+}
@@ -1,92 +1,280 @@
 package com.farukgenc.boilerplate.springboot.service;
 
-import com.farukgenc.boilerplate.springboot.model.Appointment;
-import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
-import com.farukgenc.boilerplate.springboot.repository.AppointmentRepository;
-import lombok.RequiredArgsConstructor;
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.payload.response.NextSlotResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.SlotAvailabilityResponse;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.EnumSet;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
-@RequiredArgsConstructor
 public class AvailabilityService {
 
-    private final AppointmentRepository appointmentRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final AvailabilityProperties availabilityProperties;
+    private final ProfessionalRepository professionalRepository;
+    private final WorkingScheduleCache workingScheduleCache;
+    private final CompanySlotSettings companySlotSettings;
+    private final SlotHoldRegistry slotHoldRegistry;
+
+    // Kept private rather than exposed as a bean so it does not replace Spring
+    // Boot's applicationTaskExecutor
+    private final ThreadPoolExecutor slotExecutor;
+
+    public AvailabilityService(AvailabilityIndex availabilityIndex, AvailabilityProperties availabilityProperties,
+            ProfessionalRepository professionalRepository, WorkingScheduleCache workingScheduleCache,
+            CompanySlotSettings companySlotSettings, SlotHoldRegistry slotHoldRegistry) {
+        this.availabilityIndex = availabilityIndex;
+        this.availabilityProperties = availabilityProperties;
+        this.professionalRepository = professionalRepository;
+        this.workingScheduleCache = workingScheduleCache;
+        this.companySlotSettings = companySlotSettings;
+        this.slotHoldRegistry = slotHoldRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.slotExecutor = new ThreadPoolExecutor(availabilityProperties.getParallelism(),
+                availabilityProperties.getParallelism(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(availabilityProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "availability-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.slotExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        slotExecutor.shutdown();
+    }
 
     /**
      * Checks if a professional is available for a given time range.
-     * Returns true if there are no conflicting appointments.
+     * Returns true if there are no conflicting appointments or holds.
      */
     public boolean isAvailable(UUID professionalId, LocalDateTime startDate, LocalDateTime endDate) {
-        // Find existing appointments that overlap with the requested range
-        // Logic: (StartA <= EndB) and (EndA >= StartB)
+        return isAvailable(professionalId, startDate, endDate, null);
+    }
 
-        // We fetch appointments for the professional around the date to filter in
-        // memory or use complex DB query
-        // For simplicity here, we assume exact checks or a slightly wider range query
-        // Let's use the repository method to find strictly overlapping ones if
-        // possible,
-        // but typically JPA 'NotBetween' is hard.
+    /**
+     * Same as {@link #isAvailable(UUID, LocalDateTime, LocalDateTime)}, except
+     * that the caller's own hold, if any, does not count as a conflict.
+     */
+    public boolean isAvailable(UUID professionalId, LocalDateTime startDate, LocalDateTime endDate,
+            UUID holdToken) {
+        // Non-cancelled appointments of the same day, served from the in-memory index
+        LocalDate date = startDate.toLocalDate();
+        return !slotHoldRegistry.withHolds(professionalId, date, availabilityIndex.get(professionalId, date), holdToken)
+                .overlaps(startDate, endDate);
+    }
 
-        // A simple approach: find all appointments on the same day and check overlap in
-        // Java
-        LocalDateTime dayStart = startDate.toLocalDate().atStartOfDay();
-        LocalDateTime dayEnd = startDate.toLocalDate().plusDays(1).atStartOfDay();
+    /**
+     * Reserves the interval for the configured hold TTL on behalf of
+     * {@code client}, or returns empty when it is already booked or held.
+     * Intervals in the past, beyond the search horizon or outside the
+     * professional's working hours are rejected, as are clients over their
+     * hold limits.
+     */
+    public Optional<SlotHold> placeHold(UUID professionalId, LocalDateTime startTime, LocalDateTime endTime,
+            String client) {
+        slotHoldRegistry.countAttempt(client);
 
-        List<Appointment> appointments = appointmentRepository.findByProfessionalIdAndStartTimeBetween(professionalId,
-                dayStart, dayEnd);
+        LocalDateTime now = LocalDateTime.now();
+        if (!startTime.isAfter(now)
+                || startTime.isAfter(now.plusDays(availabilityProperties.getSearchHorizonDays()))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Holds must start within the next " + availabilityProperties.getSearchHorizonDays() + " days");
+        }
+        if (!workingScheduleCache.get(professionalId).hours().covers(startTime, endTime)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Outside the professional's working hours");
+        }
 
-        for (Appointment appointment : appointments) {
+        return slotHoldRegistry.hold(professionalId, startTime, endTime,
+                availabilityIndex.get(professionalId, startTime.toLocalDate()), client);
+    }
 
-            // Ignore cancelled appointments
-            if (appointment.getStatus() == AppointmentStatus.CANCELED) {
-                continue;
-            }
+    public void releaseHold(UUID holdToken) {
+        slotHoldRegistry.release(holdToken);
+    }
 
-            // Check overlap
-            if (isOverlapping(startDate, endDate, appointment.getStartTime(), appointment.getEndTime())) {
-                return false;
-            }
+    /**
+     * Generates available time slots for a professional on a specific date,
+     * within the professional's working hours. Starts are spaced by the
+     * company's slot granularity, or by the service duration when none is set.
+     * <p>
+     * The day's occupied intervals are fetched once from the index and turned
+     * into a free-time bitmap that is scanned in memory, so the number of
+     * queries does not depend on the number of slots. Closed days return without
+     * touching the index at all.
+     */
+    public List<String> getAvailableSlots(UUID professionalId, LocalDate date, int durationMinutes) {
+        ProfessionalSchedule schedule = workingScheduleCache.get(professionalId);
+        if (!schedule.hours().isOpen(date.getDayOfWeek())) {
+            return List.of();
+        }
+        int stepMinutes = companySlotSettings.stepMinutes(schedule.companyId(), durationMinutes);
+        DayOccupancy occupancy = withHolds(professionalId, date, availabilityIndex.get(professionalId, date));
+        return computeSlots(schedule.hours(), occupancy, date, durationMinutes, stepMinutes);
+    }
+
+    /**
+     * Available time slots for every day from {@code from} to {@code to}
+     * inclusive, keyed by date. All days are served by a single query.
+     */
+    public Map<LocalDate, List<String>> getAvailableSlots(UUID professionalId, LocalDate from, LocalDate to,
+            int durationMinutes) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= availabilityProperties.getMaxRangeDays()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range must span 1 to " + availabilityProperties.getMaxRangeDays() + " days");
         }
 
-        return true;
+        ProfessionalSchedule schedule = workingScheduleCache.get(professionalId);
+        int stepMinutes = companySlotSettings.stepMinutes(schedule.companyId(), durationMinutes);
+
+        Map<LocalDate, List<String>> slotsByDay = new LinkedHashMap<>();
+        availabilityIndex.getRange(professionalId, from, to).forEach((date, occupancy) -> slotsByDay.put(date,
+                computeSlots(schedule.hours(), withHolds(professionalId, date, occupancy), date, durationMinutes,
+                        stepMinutes)));
+        return slotsByDay;
     }
 
-    private boolean isOverlapping(LocalDateTime start1, LocalDateTime end1, LocalDateTime start2, LocalDateTime end2) {
-        return start1.isBefore(end2) && start2.isBefore(end1);
+    /**
+     * "Any professional" search: free slots of every active professional of the
+     * company on the given date, each slot mapped to the professionals who can
+     * take it, ordered by time.
+     * <p>
+     * All professionals' appointments are loaded with one query; slots are then
+     * computed per professional in parallel on a bounded pool.
+     */
+    public List<SlotAvailabilityResponse> getAvailableSlotsForCompany(UUID companyId, LocalDate date,
+            int durationMinutes) {
+        Map<UUID, ProfessionalSchedule> schedules = workingScheduleCache
+                .getAll(professionalRepository.findActiveIdsByCompanyId(companyId));
+        // Professionals not working that weekday are dropped before any appointment is loaded
+        List<UUID> openProfessionalIds = schedules.entrySet().stream()
+                .filter(entry -> entry.getValue().hours().isOpen(date.getDayOfWeek()))
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<UUID, Map<LocalDate, DayOccupancy>> occupancies = availabilityIndex.getRange(openProfessionalIds, date,
+                date);
+        int stepMinutes = companySlotSettings.stepMinutes(companyId, durationMinutes);
+
+        Map<UUID, CompletableFuture<List<String>>> futures = new LinkedHashMap<>();
+        occupancies.forEach((professionalId, days) -> futures.put(professionalId, CompletableFuture.supplyAsync(
+                () -> computeSlots(schedules.get(professionalId).hours(),
+                        withHolds(professionalId, date, days.get(date)), date, durationMinutes, stepMinutes),
+                slotExecutor)));
+
+        Map<String, List<UUID>> professionalsBySlot = new TreeMap<>();
+        futures.forEach((professionalId, future) -> future.join().forEach(
+                slot -> professionalsBySlot.computeIfAbsent(slot, time -> new ArrayList<>()).add(professionalId)));
+
+        return professionalsBySlot.entrySet().stream()
+                .map(entry -> SlotAvailabilityResponse.builder()
+                        .time(entry.getKey())
+                        .professionalIds(entry.getValue())
+                        .build())
+                .toList();
     }
 
     /**
-     * Generates available time slots for a professional on a specific date.
-     * Assumes working hours 09:00 - 18:00.
+     * First-fit search: the earliest {@code count} free slots from now on, for
+     * one professional or, when {@code professionalId} is null, for any active
+     * professional of the company.
+     * <p>
+     * Days are walked forward in chunks of {@code searchChunkDays}, each chunk
+     * served by one range query, and the walk stops as soon as enough slots are
+     * found or {@code searchHorizonDays} is reached.
      */
-    public List<String> getAvailableSlots(UUID professionalId, java.time.LocalDate date, int durationMinutes) {
-        List<String> availableSlots = new java.util.ArrayList<>();
+    public List<NextSlotResponse> findNextAvailable(UUID companyId, UUID professionalId, int durationMinutes,
+            int count) {
+        if (count < 1 || count > availabilityProperties.getMaxNextSlots()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Count must be between 1 and " + availabilityProperties.getMaxNextSlots());
+        }
 
-        // Define working hours (should be configurable per professional/company)
-        LocalDateTime startOfDay = date.atTime(9, 0);
-        LocalDateTime endOfDay = date.atTime(18, 0);
+        List<UUID> candidates = professionalId != null ? List.of(professionalId)
+                : professionalRepository.findActiveIdsByCompanyId(companyId);
+        Map<UUID, ProfessionalSchedule> schedules = workingScheduleCache.getAll(candidates);
+        // Professionals never open on any weekday cannot contribute a slot
+        List<UUID> professionalIds = schedules.entrySet().stream()
+                .filter(entry -> Arrays.stream(DayOfWeek.values()).anyMatch(entry.getValue().hours()::isOpen))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (professionalIds.isEmpty()) {
+            return List.of();
+        }
+        int stepMinutes = companySlotSettings.stepMinutes(
+                professionalId != null ? schedules.get(professionalId).companyId() : companyId, durationMinutes);
 
-        LocalDateTime currentSlot = startOfDay;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate horizon = now.toLocalDate().plusDays(availabilityProperties.getSearchHorizonDays() - 1L);
+        List<NextSlotResponse> found = new ArrayList<>();
 
-        while (currentSlot.plusMinutes(durationMinutes).isBefore(endOfDay)
-                || currentSlot.plusMinutes(durationMinutes).isEqual(endOfDay)) {
-            LocalDateTime slotEnd = currentSlot.plusMinutes(durationMinutes);
+        for (LocalDate from = now.toLocalDate(); !from.isAfter(horizon);
+                from = from.plusDays(availabilityProperties.getSearchChunkDays())) {
+            LocalDate to = from.plusDays(availabilityProperties.getSearchChunkDays() - 1L);
+            to = to.isAfter(horizon) ? horizon : to;
+            Map<UUID, Map<LocalDate, DayOccupancy>> occupancies = availabilityIndex.getRange(professionalIds, from,
+                    to);
 
-            if (isAvailable(professionalId, currentSlot, slotEnd)) {
-                availableSlots.add(currentSlot.toLocalTime().toString());
-            }
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                int notBeforeMinute = date.equals(now.toLocalDate()) ? now.getHour() * 60 + now.getMinute() + 1 : 0;
+
+                Map<String, List<UUID>> professionalsBySlot = new TreeMap<>();
+                for (UUID id : professionalIds) {
+                    WeeklySchedule hours = schedules.get(id).hours();
+                    if (!hours.isOpen(date.getDayOfWeek())) {
+                        continue;
+                    }
+                    FreeTimeBitmap.of(hours, withHolds(id, date, occupancies.get(id).get(date)), date)
+                            .startTimes(durationMinutes, stepMinutes, notBeforeMinute)
+                            .forEach(slot -> professionalsBySlot.computeIfAbsent(slot, time -> new ArrayList<>())
+                                    .add(id));
+                }
 
-            currentSlot = currentSlot.plusMinutes(durationMinutes);
-            // Or slot increment could be smaller than duration (e.g. 15 mins start times
-            // for 30 min service)
-            // For now, simple non-overlapping grid
+                for (Map.Entry<String, List<UUID>> entry : professionalsBySlot.entrySet()) {
+                    found.add(NextSlotResponse.builder()
+                            .date(date)
+                            .time(entry.getKey())
+                            .professionalIds(entry.getValue())
+                            .build());
+                    if (found.size() == count) {
+                        return found;
+                    }
+                }
+            }
         }
+        return found;
+    }
+
+    private DayOccupancy withHolds(UUID professionalId, LocalDate date, DayOccupancy booked) {
+        return slotHoldRegistry.withHolds(professionalId, date, booked, null);
+    }
 
-        return availableSlots;
+    private List<String> computeSlots(WeeklySchedule schedule, DayOccupancy occupancy, LocalDate date,
+            int durationMinutes, int stepMinutes) {
+        return FreeTimeBitmap.of(schedule, occupancy, date).startTimes(durationMinutes, stepMinutes);
     }
 }
@@ -1,9 +1,13 @@
 package com.farukgenc.boilerplate.springboot.service;
 
 import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.payload.response.BusinessServiceResponse;
 import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
+import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -13,25 +17,38 @@ import java.util.UUID;
 public class BusinessServiceService {
 
     private final BusinessServiceRepository businessServiceRepository;
+    private final CatalogCache catalogCache;
+    private final ActiveCompanyGuard activeCompanyGuard;
+    private final DtoMapper dtoMapper;
 
     public List<BusinessService> findAll() {
         return businessServiceRepository.findAll();
     }
 
-    public List<BusinessService> findAllByCompanyId(UUID companyId) {
-        return businessServiceRepository.findByCompanyId(companyId);
+    @Transactional(readOnly = true)
+    public List<BusinessServiceResponse> findAllByCompanyId(UUID companyId) {
+        return catalogCache.businessServicesOf(companyId).stream()
+                .map(dtoMapper::toBusinessServiceResponse)
+                .toList();
     }
 
-    public BusinessService findById(UUID id) {
-        return businessServiceRepository.findById(id)
+    public BusinessServiceSummary findById(UUID id) {
+        return catalogCache.businessService(id)
                 .orElseThrow(() -> new RuntimeException("Service not found"));
     }
 
+    @Transactional
     public BusinessService create(BusinessService businessService) {
-        return businessServiceRepository.save(businessService);
+        activeCompanyGuard.requireActive(businessService.getCompanyId());
+        BusinessService saved = businessServiceRepository.save(businessService);
+        catalogCache.invalidateBusinessService(saved.getCompanyId(), saved.getId());
+        return saved;
     }
 
     public void delete(UUID id) {
-        businessServiceRepository.deleteById(id);
+        businessServiceRepository.findById(id).ifPresent(service -> {
+            businessServiceRepository.delete(service);
+            catalogCache.invalidateBusinessService(service.getCompanyId(), id);
+        });
     }
 }
@@ -0,0 +1,149 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties.CacheSettings;
+import com.farukgenc.boilerplate.springboot.configuration.CatalogCacheProperties;
+import com.farukgenc.boilerplate.springboot.model.Role;
+import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.RoleRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
+import com.farukgenc.boilerplate.springboot.repository.projection.CompanySummary;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary;
+import com.farukgenc.boilerplate.springboot.utils.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rarely changing catalog rows read on every slot search and public page view:
+ * business services, professionals, companies and roles.
+ * <p>
+ * Services, professionals and companies are cached as immutable projection
+ * records, singly and as per-company lists, so no entity is materialized or
+ * shared between requests and callers cannot alter what other requests are
+ * served; each caller maps them to its own response DTOs. Roles are cached as
+ * entities to be assigned to new memberships and are never modified.
+ * <p>
+ * Write paths drop the affected entries once their transaction commits, on
+ * this node only: other nodes keep serving their copy until it expires, see
+ * {@link CatalogCacheProperties}. Writes referencing a catalog row, such as
+ * bookings, read it in their own transaction instead of trusting the cache.
+ * Lookups that find nothing are not cached.
+ */
+@Component
+public class CatalogCache {
+
+    private final BusinessServiceRepository businessServiceRepository;
+    private final ProfessionalRepository professionalRepository;
+    private final CompanyRepository companyRepository;
+    private final RoleRepository roleRepository;
+
+    private final Cache<UUID, BusinessServiceSummary> businessServices;
+    private final Cache<UUID, List<BusinessServiceSummary>> businessServicesByCompany;
+    private final Cache<UUID, ProfessionalSummary> professionals;
+    private final Cache<UUID, List<ProfessionalSummary>> professionalsByCompany;
+    private final Cache<UUID, CompanySummary> companies;
+    private final Cache<String, CompanySummary> companiesBySlug;
+    private final Cache<String, Role> roles;
+
+    public CatalogCache(BusinessServiceRepository businessServiceRepository,
+            ProfessionalRepository professionalRepository, CompanyRepository companyRepository,
+            RoleRepository roleRepository, CatalogCacheProperties properties,
+            MeterRegistry meterRegistry) {
+        this.businessServiceRepository = businessServiceRepository;
+        this.professionalRepository = professionalRepository;
+        this.companyRepository = companyRepository;
+        this.roleRepository = roleRepository;
+
+        this.businessServices = build(properties.getBusinessServices(), meterRegistry, "businessServices");
+        this.businessServicesByCompany = build(properties.getBusinessServices(), meterRegistry,
+                "businessServicesByCompany");
+        this.professionals = build(properties.getProfessionals(), meterRegistry, "professionals");
+        this.professionalsByCompany = build(properties.getProfessionals(), meterRegistry, "professionalsByCompany");
+        this.companies = build(properties.getCompanies(), meterRegistry, "companies");
+        this.companiesBySlug = build(properties.getCompanies(), meterRegistry, "companiesBySlug");
+        this.roles = build(properties.getRoles(), meterRegistry, "roles");
+    }
+
+    public Optional<BusinessServiceSummary> businessService(UUID id) {
+        return Optional.ofNullable(
+                businessServices.get(id, key -> businessServiceRepository.findSummaryById(key).orElse(null)));
+    }
+
+    public List<BusinessServiceSummary> businessServicesOf(UUID companyId) {
+        return businessServicesByCompany.get(companyId,
+                key -> List.copyOf(businessServiceRepository.findSummariesByCompanyId(key)));
+    }
+
+    public Optional<ProfessionalSummary> professional(UUID id) {
+        return Optional.ofNullable(
+                professionals.get(id, key -> professionalRepository.findSummaryById(key).orElse(null)));
+    }
+
+    public List<ProfessionalSummary> professionalsOf(UUID companyId) {
+        return professionalsByCompany.get(companyId,
+                key -> List.copyOf(professionalRepository.findSummariesByCompanyId(key)));
+    }
+
+    public Optional<CompanySummary> company(UUID id) {
+        return Optional.ofNullable(companies.get(id, key -> companyRepository.findSummaryById(key).orElse(null)));
+    }
+
+    public Optional<CompanySummary> companyBySlug(String slug) {
+        return Optional.ofNullable(
+                companiesBySlug.get(slug, key -> companyRepository.findSummaryBySlug(key).orElse(null)));
+    }
+
+    public Optional<Role> role(String name) {
+        return Optional.ofNullable(roles.get(name, key -> roleRepository.findByName(key).orElse(null)));
+    }
+
+    /**
+     * Drops the service and its company's list once the current transaction commits.
+     */
+    public void invalidateBusinessService(UUID companyId, UUID id) {
+        TransactionCallbacks.afterCommit(() -> {
+            businessServices.invalidate(id);
+            businessServicesByCompany.invalidate(companyId);
+        });
+    }
+
+    /**
+     * Drops the professional and its company's list once the current transaction commits.
+     */
+    public void invalidateProfessional(UUID companyId, UUID id) {
+        TransactionCallbacks.afterCommit(() -> {
+            professionals.invalidate(id);
+            professionalsByCompany.invalidate(companyId);
+        });
+    }
+
+    /**
+     * Drops the company once the current transaction commits, under its old
+     * slug as well when the slug was changed.
+     */
+    public void invalidateCompany(UUID companyId) {
+        TransactionCallbacks.afterCommit(() -> {
+            companies.invalidate(companyId);
+            companiesBySlug.asMap().values().removeIf(company -> company.id().equals(companyId));
+        });
+    }
+
+    private static <K, V> Cache<K, V> build(CacheSettings settings, MeterRegistry meterRegistry, String name) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxEntries())
+                .expireAfterWrite(Duration.ofMinutes(settings.getTtlMinutes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+}
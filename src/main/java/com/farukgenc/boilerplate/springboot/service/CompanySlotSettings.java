@@ -0,0 +1,79 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.utils.TransactionCallbacks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Per-company slot settings kept in {@code Company.settingsJson}, e.g.
+ * {@code {"slotGranularityMinutes": 15}} to offer a start every 15 minutes
+ * whatever the service duration.
+ */
+@Slf4j
+@Component
+public class CompanySlotSettings {
+
+    static final String SLOT_GRANULARITY = "slotGranularityMinutes";
+
+    // Cached for companies that did not configure a granularity
+    private static final int UNSET = 0;
+
+    private final CompanyRepository companyRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<UUID, Integer> granularities;
+
+    public CompanySlotSettings(CompanyRepository companyRepository, ObjectMapper objectMapper,
+            AvailabilityProperties properties, MeterRegistry meterRegistry) {
+        this.companyRepository = companyRepository;
+        this.objectMapper = objectMapper;
+        this.granularities = Caffeine.newBuilder()
+                .maximumSize(properties.getCompanySettings().getMaxEntries())
+                .expireAfterWrite(Duration.ofMinutes(properties.getCompanySettings().getTtlMinutes()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, granularities, "companySlotSettings");
+    }
+
+    /**
+     * Minutes between consecutive candidate starts: the company's configured
+     * granularity, or else the service duration, and at least one.
+     */
+    public int stepMinutes(UUID companyId, int durationMinutes) {
+        int granularity = companyId == null ? UNSET : granularities.get(companyId, this::load);
+        return Math.max(granularity != UNSET ? granularity : durationMinutes, 1);
+    }
+
+    /**
+     * Drops the cached settings once the current transaction commits.
+     */
+    public void invalidate(UUID companyId) {
+        TransactionCallbacks.afterCommit(() -> granularities.invalidate(companyId));
+    }
+
+    private int load(UUID companyId) {
+        String settingsJson = companyRepository.findSettingsJsonById(companyId).orElse(null);
+        if (settingsJson == null || settingsJson.isBlank()) {
+            return UNSET;
+        }
+        try {
+            int granularity = objectMapper.readTree(settingsJson).path(SLOT_GRANULARITY).asInt(UNSET);
+            return Math.max(granularity, UNSET);
+        } catch (Exception e) {
+            log.warn("Invalid settings for company {}, ignoring slot granularity: {}", companyId, e.getMessage());
+            return UNSET;
+        }
+    }
+}
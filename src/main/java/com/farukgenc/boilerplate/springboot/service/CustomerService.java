@@ -2,6 +2,7 @@ package com.farukgenc.boilerplate.springboot.service;
 
 import com.farukgenc.boilerplate.springboot.model.Customer;
 import com.farukgenc.boilerplate.springboot.model.UserAccount;
+import com.farukgenc.boilerplate.springboot.payload.response.CustomerResponse;
 import com.farukgenc.boilerplate.springboot.repository.CustomerRepository;
 import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,13 +20,15 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final UserAccountRepository userAccountRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final ActiveCompanyGuard activeCompanyGuard;
 
     public List<Customer> findAll() {
         return customerRepository.findAll();
     }
 
-    public List<Customer> findAllByCompanyId(UUID companyId) {
-        return customerRepository.findByCompanyId(companyId);
+    @Transactional(readOnly = true)
+    public List<CustomerResponse> findAllByCompanyId(UUID companyId) {
+        return customerRepository.findResponsesByCompanyId(companyId);
     }
 
     public Customer findById(UUID id) {
@@ -33,13 +36,17 @@ public class CustomerService {
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
     }
 
+    @Transactional
     public Customer create(Customer customer) {
+        activeCompanyGuard.requireActive(customer.getCompanyId());
         return customerRepository.save(customer);
     }
 
     @Transactional
     public Customer createFromRequest(com.farukgenc.boilerplate.springboot.security.dto.CreateCustomerRequest request,
             java.util.UUID companyId) {
+        activeCompanyGuard.requireActive(companyId);
+
         // Find existing user or create
         UserAccount user = userAccountRepository.findByEmail(request.getEmail())
                 .orElseGet(() -> {
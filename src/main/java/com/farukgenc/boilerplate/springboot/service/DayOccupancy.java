@@ -0,0 +1,119 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, start-ordered set of occupied intervals of one professional on one
+ * day, stored as epoch-minute pairs in primitive arrays.
+ * <p>
+ * {@code maxEnds[i]} holds the largest end among the first {@code i + 1}
+ * intervals, so an overlap check is a binary search for the last interval
+ * starting before the requested end plus one comparison.
+ */
+public final class DayOccupancy {
+
+    static final DayOccupancy EMPTY = new DayOccupancy(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private DayOccupancy(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    /**
+     * Builds the occupancy from intervals already ordered by start time.
+     */
+    static DayOccupancy of(List<AppointmentInterval> intervals) {
+        if (intervals.isEmpty()) {
+            return EMPTY;
+        }
+        long[] starts = new long[intervals.size()];
+        long[] ends = new long[intervals.size()];
+        for (int i = 0; i < intervals.size(); i++) {
+            starts[i] = floorMinute(intervals.get(i).startTime());
+            ends[i] = ceilMinute(intervals.get(i).endTime());
+        }
+        return new DayOccupancy(starts, ends);
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(floorMinute(start), ceilMinute(end));
+    }
+
+    boolean overlaps(long start, long end) {
+        int candidates = lowerBound(end);
+        return candidates > 0 && maxEnds[candidates - 1] > start;
+    }
+
+    DayOccupancy with(LocalDateTime start, LocalDateTime end) {
+        long s = floorMinute(start);
+        int at = lowerBound(s);
+        long[] newStarts = new long[starts.length + 1];
+        long[] newEnds = new long[ends.length + 1];
+        System.arraycopy(starts, 0, newStarts, 0, at);
+        System.arraycopy(ends, 0, newEnds, 0, at);
+        newStarts[at] = s;
+        newEnds[at] = ceilMinute(end);
+        System.arraycopy(starts, at, newStarts, at + 1, starts.length - at);
+        System.arraycopy(ends, at, newEnds, at + 1, ends.length - at);
+        return new DayOccupancy(newStarts, newEnds);
+    }
+
+    /**
+     * Start of the {@code i}-th interval in epoch minutes, in start order.
+     */
+    long startMinute(int i) {
+        return starts[i];
+    }
+
+    long endMinute(int i) {
+        return ends[i];
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Rough heap footprint: three long arrays plus object and array headers.
+     */
+    long estimatedBytes() {
+        return 16 + 3 * (16 + 8L * starts.length);
+    }
+
+    /**
+     * Index of the first interval starting at or after the given minute.
+     */
+    private int lowerBound(long minute) {
+        int index = Arrays.binarySearch(starts, minute);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && starts[index - 1] == minute) {
+            index--;
+        }
+        return index;
+    }
+
+    static long floorMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    static long ceilMinute(LocalDateTime time) {
+        return -Math.floorDiv(-time.toEpochSecond(ZoneOffset.UTC) - (time.getNano() > 0 ? 1 : 0), 60);
+    }
+}
@@ -0,0 +1,95 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * One professional-day as a bitset of minutes, a set bit meaning the minute is
+ * inside working hours and not taken by an appointment. Candidate starts are
+ * found with {@link BitSet#nextClearBit} / {@link BitSet#nextSetBit}, which
+ * skip whole 64-minute words at a time, instead of testing every grid slot
+ * against the appointments.
+ * <p>
+ * Appointments occupy the minutes {@link DayOccupancy} widened them to, so a
+ * booking ending at 10:02 frees 10:02 and one ending at 10:02:30 frees 10:03.
+ */
+final class FreeTimeBitmap {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final WeeklySchedule schedule;
+    private final LocalDate date;
+    private final BitSet free;
+
+    private FreeTimeBitmap(WeeklySchedule schedule, LocalDate date, BitSet free) {
+        this.schedule = schedule;
+        this.date = date;
+        this.free = free;
+    }
+
+    static FreeTimeBitmap of(WeeklySchedule schedule, DayOccupancy occupancy, LocalDate date) {
+        BitSet free = new BitSet(MINUTES_PER_DAY);
+
+        int[] open = schedule.openIntervals(date.getDayOfWeek());
+        for (int i = 0; i < open.length; i += 2) {
+            free.set(open[i], open[i + 1]);
+        }
+
+        long dayStart = DayOccupancy.floorMinute(date.atStartOfDay());
+        for (int i = 0; i < occupancy.size(); i++) {
+            long start = Math.max(occupancy.startMinute(i) - dayStart, 0);
+            long end = Math.min(occupancy.endMinute(i) - dayStart, MINUTES_PER_DAY);
+            if (start < end) {
+                free.clear((int) start, (int) end);
+            }
+        }
+        return new FreeTimeBitmap(schedule, date, free);
+    }
+
+    /**
+     * Start times ({@code HH:mm}) of every free run of at least
+     * {@code durationMinutes}, on a grid of {@code stepMinutes} anchored at the
+     * start of each open interval of the day.
+     */
+    List<String> startTimes(int durationMinutes, int stepMinutes) {
+        return startTimes(durationMinutes, stepMinutes, 0);
+    }
+
+    /**
+     * Same as {@link #startTimes(int, int)}, leaving out starts before
+     * {@code notBeforeMinute} (minute of day), e.g. the past part of today.
+     */
+    List<String> startTimes(int durationMinutes, int stepMinutes, int notBeforeMinute) {
+        int length = Math.max(durationMinutes, 1);
+        int step = Math.max(stepMinutes, 1);
+        List<String> starts = new ArrayList<>();
+
+        int[] open = schedule.openIntervals(date.getDayOfWeek());
+        for (int i = 0; i < open.length; i += 2) {
+            int anchor = open[i];
+            int limit = open[i + 1];
+
+            int minute = anchor;
+            while (minute + length <= limit) {
+                int busy = free.nextClearBit(minute);
+                if (busy >= minute + length) {
+                    if (minute >= notBeforeMinute) {
+                        starts.add(LocalTime.ofSecondOfDay(minute * 60L).toString());
+                    }
+                    minute += step;
+                    continue;
+                }
+                // Jump past the occupied run, back onto the grid
+                int next = free.nextSetBit(busy);
+                if (next < 0 || next >= limit) {
+                    break;
+                }
+                minute = anchor + Math.ceilDiv(next - anchor, step) * step;
+            }
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,15 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+/**
+ * What an {@link IdempotencyStore} remembers about a key: either the first
+ * request is still running, or its status and JSON body to replay. The hash of
+ * that request's payload tells a retry apart from a different request reusing
+ * the key; it is null for keys stored before hashes were recorded. The claim
+ * token identifies the request holding the key.
+ */
+public record IdempotencyRecord(boolean completed, int status, String body, String requestHash, String claimToken) {
+
+    static IdempotencyRecord inProgress(String requestHash, String claimToken) {
+        return new IdempotencyRecord(false, 0, null, requestHash, claimToken);
+    }
+}
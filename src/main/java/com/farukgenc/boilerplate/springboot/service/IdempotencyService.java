@@ -0,0 +1,105 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}. A repeated key gets
+ * the stored status and body back without invoking the action; failed requests
+ * are forgotten so they can be retried. A key reused with a different payload
+ * is rejected with 422 instead of replaying another request's response.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param companyId keys are scoped per company, so tenants cannot collide
+     * @param key       header value, or null to run the action unconditionally
+     * @param payload   request body; retries must send the same one
+     */
+    public ResponseEntity<?> execute(UUID companyId, String key, Object payload,
+            Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = companyId + ":" + key;
+        String requestHash = hash(payload);
+        String claimToken = UUID.randomUUID().toString();
+        Optional<IdempotencyRecord> previous = idempotencyStore.claim(scopedKey, claimToken, requestHash);
+        if (previous.isPresent()) {
+            return replay(previous.get(), requestHash);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyStore.release(scopedKey, claimToken);
+            throw e;
+        }
+
+        idempotencyStore.complete(scopedKey, claimToken, response.getStatusCode().value(), toJson(response.getBody()));
+        return response;
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record, String requestHash) {
+        if (record.requestHash() != null && !record.requestHash().equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request");
+        }
+        if (!record.completed()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this " + HEADER + " is still being processed");
+        }
+        return ResponseEntity.status(record.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(record.body());
+    }
+
+    /**
+     * SHA-256 of the payload's JSON form, which is stable for equal DTOs.
+     */
+    private String hash(Object payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(toJson(payload)
+                    .getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Response could not be stored for replay", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import java.util.Optional;
+
+/**
+ * Bounded, expiring memory of responses by idempotency key. Implementations
+ * are selected with {@code idempotency.store}.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key for the calling request, whose payload hashes to
+     * {@code requestHash}. The claim is a lease of
+     * {@code idempotency.lease-seconds}, after which another request may take
+     * the key over. Returns empty when the claim succeeded, otherwise what the
+     * earlier request with this key left behind.
+     *
+     * @param claimToken unique per request; {@link #complete} and
+     *                   {@link #release} only act while the key is still held
+     *                   under it
+     */
+    Optional<IdempotencyRecord> claim(String key, String claimToken, String requestHash);
+
+    /**
+     * Stores the response of the request that claimed the key, remembered for
+     * {@code idempotency.ttl-minutes}. Does nothing once another request has
+     * taken the key over.
+     */
+    void complete(String key, String claimToken, int status, String body);
+
+    /**
+     * Forgets the key after a failed request so the client can retry it. Does
+     * nothing once another request has taken the key over.
+     */
+    void release(String key, String claimToken);
+}
@@ -0,0 +1,71 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.IdempotencyProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Single-node {@link IdempotencyStore}; keys are lost on restart.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, IdempotencyRecord> records;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        Duration lease = Duration.ofSeconds(properties.getLeaseSeconds());
+        Duration ttl = Duration.ofMinutes(properties.getTtlMinutes());
+        this.records = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                // A claim whose request never completed or released it expires with its lease
+                .expireAfter(new Expiry<String, IdempotencyRecord>() {
+                    @Override
+                    public long expireAfterCreate(String key, IdempotencyRecord record, long currentTime) {
+                        return (record.completed() ? ttl : lease).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, IdempotencyRecord record, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, record, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, IdempotencyRecord record, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, records, "idempotencyKeys");
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String claimToken, String requestHash) {
+        return Optional.ofNullable(records.asMap().putIfAbsent(key,
+                IdempotencyRecord.inProgress(requestHash, claimToken)));
+    }
+
+    @Override
+    public void complete(String key, String claimToken, int status, String body) {
+        records.asMap().computeIfPresent(key, (k, claimed) -> claimToken.equals(claimed.claimToken())
+                ? new IdempotencyRecord(true, status, body, claimed.requestHash(), claimToken)
+                : claimed);
+    }
+
+    @Override
+    public void release(String key, String claimToken) {
+        records.asMap().computeIfPresent(key, (k, claimed) -> claimToken.equals(claimed.claimToken()) ? null : claimed);
+    }
+}
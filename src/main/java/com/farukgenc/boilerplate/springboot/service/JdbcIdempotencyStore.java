@@ -0,0 +1,105 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.IdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * {@link IdempotencyStore} on the {@code idempotency_key} table, so a retry
+ * landing on another node still replays the first response. Claiming is a
+ * single upsert that only takes over expired rows: completed ones after their
+ * TTL, in-progress ones after their short lease, so a node dying mid-request
+ * blocks the key only briefly. Completing and releasing match the claim
+ * token too, so a request outliving its lease cannot overwrite or delete the
+ * claim of the retry that took the key over. Expired rows are deleted in
+ * batches by a scheduled cleanup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String CLAIM = """
+            INSERT INTO idempotency_key (idempotency_key, completed, request_hash, claim_token, created_at, expires_at)
+            VALUES (?, FALSE, ?, ?, ?, ?)
+            ON CONFLICT (idempotency_key) DO UPDATE
+                SET completed = FALSE, status = NULL, response_body = NULL, request_hash = EXCLUDED.request_hash,
+                    claim_token = EXCLUDED.claim_token, created_at = EXCLUDED.created_at,
+                    expires_at = EXCLUDED.expires_at
+                WHERE idempotency_key.expires_at < EXCLUDED.created_at
+            """;
+
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM idempotency_key WHERE idempotency_key IN (
+                SELECT idempotency_key FROM idempotency_key WHERE expires_at < ? LIMIT ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final IdempotencyProperties properties;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String claimToken, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = jdbcTemplate.update(CLAIM, key, requestHash, claimToken, Timestamp.valueOf(now),
+                Timestamp.valueOf(now.plusSeconds(properties.getLeaseSeconds())));
+        if (claimed == 1) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(
+                "SELECT completed, status, response_body, request_hash, claim_token FROM idempotency_key "
+                        + "WHERE idempotency_key = ?",
+                (rs, rowNum) -> new IdempotencyRecord(rs.getBoolean("completed"), rs.getInt("status"),
+                        rs.getString("response_body"), rs.getString("request_hash"), rs.getString("claim_token")),
+                key).stream().findFirst();
+    }
+
+    @Override
+    public void complete(String key, String claimToken, int status, String body) {
+        int completed = jdbcTemplate.update("UPDATE idempotency_key SET completed = TRUE, status = ?, "
+                + "response_body = ?, expires_at = ? WHERE idempotency_key = ? AND claim_token = ?",
+                status, body, Timestamp.valueOf(LocalDateTime.now().plusMinutes(properties.getTtlMinutes())), key,
+                claimToken);
+        if (completed == 0) {
+            log.warn("Idempotency key {} was taken over before its request completed; response not stored", key);
+        }
+    }
+
+    /**
+     * Deletes expired keys in batches of {@code idempotency.cleanup-batch-size},
+     * each its own short statement served by idx_idempotency_key_expires_at.
+     * Every node may run it; concurrent runs just find less to delete.
+     */
+    @Scheduled(cron = "${idempotency.cleanup-cron:0 */10 * * * *}")
+    public void deleteExpired() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int batchSize = properties.getCleanupBatchSize();
+        int deleted;
+        long total = 0;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED, now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Deleted {} expired idempotency keys", total);
+        }
+    }
+
+    @Override
+    public void release(String key, String claimToken) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE idempotency_key = ? AND claim_token = ?", key,
+                claimToken);
+    }
+}
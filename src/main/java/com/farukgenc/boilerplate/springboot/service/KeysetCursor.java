@@ -0,0 +1,43 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position after the last row of a page ordered by a timestamp and
+ * then by id, e.g. an appointment's {@code (start_time, id)}, encoded as an
+ * opaque URL-safe string.
+ */
+record KeysetCursor(LocalDateTime time, UUID id) {
+
+    // Sorts before every real row at that time, for the first ascending page
+    static KeysetCursor before(LocalDateTime time) {
+        return new KeysetCursor(time, new UUID(0, 0));
+    }
+
+    // Sorts after every real row at that time, for the first descending page
+    static KeysetCursor after(LocalDateTime time) {
+        return new KeysetCursor(time, new UUID(-1, -1));
+    }
+
+    String encode() {
+        String raw = time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
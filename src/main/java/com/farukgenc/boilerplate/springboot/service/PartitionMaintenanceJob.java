@@ -0,0 +1,123 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.PartitionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps monthly partitions of {@code appointment} and {@code audit_log}
+ * created ahead of time. An insert whose timestamp has no partition fails, so
+ * the job runs at startup and then daily; creating an existing partition is a
+ * no-op, so every node may run it.
+ * <p>
+ * It also applies audit retention by detaching and dropping audit_log
+ * partitions older than {@code partitions.audit-retention-months}, which frees
+ * their space at once instead of deleting and vacuuming rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionMaintenanceJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionProperties partitionProperties;
+
+    private static final Pattern AUDIT_PARTITION = Pattern.compile("audit_log_(\\d{4})_(\\d{2})");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        createFuturePartitions("create_appointment_partition", partitionProperties.getMonthsAhead());
+        createFuturePartitions("create_audit_log_partition", partitionProperties.getAuditMonthsAhead());
+        dropExpiredAuditPartitions();
+    }
+
+    private void createFuturePartitions(String function, int monthsAhead) {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            try {
+                jdbcTemplate.queryForObject("SELECT " + function + "(?)", String.class, Date.valueOf(month));
+            } catch (DataAccessException e) {
+                // Another node may have created the same partition concurrently
+                log.warn("Could not create partition for {} with {}: {}", month, function, e.getMessage());
+            }
+        }
+    }
+
+    private void dropExpiredAuditPartitions() {
+        YearMonth oldestKept = YearMonth.now().minusMonths(partitionProperties.getAuditRetentionMonths());
+        // Also lists partitions detached by an earlier run that did not get to drop them
+        List<AuditPartition> partitions = jdbcTemplate.query("SELECT c.relname, i.inhrelid IS NOT NULL, "
+                + "COALESCE(i.inhdetachpending, false) FROM pg_class c "
+                + "LEFT JOIN pg_inherits i ON i.inhrelid = c.oid "
+                + "WHERE c.relkind = 'r' AND c.relnamespace = to_regnamespace(current_schema()) "
+                + "AND c.relname ~ '^audit_log_[0-9]{4}_[0-9]{2}$' "
+                + "AND (i.inhparent IS NULL OR i.inhparent = 'audit_log'::regclass)",
+                (rs, rowNum) -> new AuditPartition(rs.getString(1), rs.getBoolean(2), rs.getBoolean(3)));
+        for (AuditPartition partition : partitions) {
+            Matcher matcher = AUDIT_PARTITION.matcher(partition.name());
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(oldestKept)) {
+                try {
+                    dropAuditPartition(partition);
+                    log.info("Dropped audit partition {} past retention", partition.name());
+                } catch (DataAccessException e) {
+                    log.warn("Could not drop audit partition {}: {}", partition.name(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Detaches the partition before dropping it. A plain DROP TABLE takes an
+     * ACCESS EXCLUSIVE lock on audit_log and so blocks every audit write and
+     * query until it is granted; detaching CONCURRENTLY only takes a SHARE
+     * UPDATE EXCLUSIVE lock on the parent, after which the drop locks only
+     * the detached table.
+     */
+    private void dropAuditPartition(AuditPartition partition) {
+        // The name comes from the catalog and matched the pattern, so it is safe to inline
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            // DETACH ... CONCURRENTLY cannot run inside a transaction block. The
+            // job runs outside any Spring transaction, so the connection is its own
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                if (partition.attached()) {
+                    // A detach interrupted midway leaves the partition pending until finalized
+                    statement.execute("ALTER TABLE audit_log DETACH PARTITION " + partition.name()
+                            + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+                }
+                statement.execute("DROP TABLE IF EXISTS " + partition.name());
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private record AuditPartition(String name, boolean attached, boolean detachPending) {
+    }
+}
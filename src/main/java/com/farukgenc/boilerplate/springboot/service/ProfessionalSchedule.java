@@ -0,0 +1,13 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import java.util.UUID;
+
+/**
+ * Compiled working hours of a professional together with the company whose
+ * slot settings apply to them. {@code companyId} is null for unknown
+ * professionals.
+ */
+public record ProfessionalSchedule(UUID companyId, WeeklySchedule hours) {
+
+    static final ProfessionalSchedule UNKNOWN = new ProfessionalSchedule(null, WeeklySchedule.DEFAULT);
+}
@@ -1,7 +1,10 @@
 package com.farukgenc.boilerplate.springboot.service;
 
 import com.farukgenc.boilerplate.springboot.model.Professional;
+import com.farukgenc.boilerplate.springboot.payload.response.ProfessionalResponse;
 import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary;
+import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +16,6 @@ import com.farukgenc.boilerplate.springboot.model.UserAccount;
 import com.farukgenc.boilerplate.springboot.model.Role;
 import com.farukgenc.boilerplate.springboot.repository.CompanyUserRepository;
 import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
-import com.farukgenc.boilerplate.springboot.repository.RoleRepository;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,19 +26,25 @@ public class ProfessionalService {
         private final ProfessionalRepository professionalRepository;
         private final UserAccountRepository userAccountRepository;
         private final CompanyUserRepository companyUserRepository;
-        private final RoleRepository roleRepository;
         private final BCryptPasswordEncoder passwordEncoder;
+        private final WorkingScheduleCache workingScheduleCache;
+        private final CatalogCache catalogCache;
+        private final ActiveCompanyGuard activeCompanyGuard;
+        private final DtoMapper dtoMapper;
 
         public List<Professional> findAll() {
                 return professionalRepository.findAll();
         }
 
-        public List<Professional> findAllByCompanyId(UUID companyId) {
-                return professionalRepository.findByCompanyId(companyId);
+        @Transactional(readOnly = true)
+        public List<ProfessionalResponse> findAllByCompanyId(UUID companyId) {
+                return catalogCache.professionalsOf(companyId).stream()
+                                .map(dtoMapper::toProfessionalResponse)
+                                .toList();
         }
 
-        public Professional findById(UUID id) {
-                return professionalRepository.findById(id)
+        public ProfessionalSummary findById(UUID id) {
+                return catalogCache.professional(id)
                                 .orElseThrow(() -> new RuntimeException("Professional not found"));
         }
 
@@ -50,6 +58,8 @@ public class ProfessionalService {
         @Transactional
         public Professional create(com.farukgenc.boilerplate.springboot.security.dto.CreateProfessionalRequest request,
                         java.util.UUID companyId) {
+                activeCompanyGuard.requireActive(companyId);
+
                 // 1. Create UserAccount
                 UserAccount user = UserAccount.builder()
                                 .email(request.getEmail())
@@ -66,7 +76,7 @@ public class ProfessionalService {
                 CompanyUser companyUser = CompanyUser.builder()
                                 .userId(user.getId())
                                 .companyId(companyId)
-                                .role(roleRepository.findByName("PROFESSIONAL")
+                                .role(catalogCache.role("PROFESSIONAL")
                                                 .orElseThrow(() -> new RuntimeException("Role PROFESSIONAL not found")))
                                 .build();
                 companyUserRepository.save(companyUser);
@@ -77,7 +87,9 @@ public class ProfessionalService {
                                 .companyId(companyId)
                                 .active(true)
                                 .build();
-                return professionalRepository.save(professional);
+                Professional saved = professionalRepository.save(professional);
+                catalogCache.invalidateProfessional(companyId, saved.getId());
+                return saved;
         }
 
         @Transactional
@@ -88,6 +100,9 @@ public class ProfessionalService {
                                 .findByUserAccountIdAndCompanyId(user.getId(), companyId)
                                 .orElseThrow(() -> new RuntimeException("Professional not found"));
                 professional.setWorkingHours(workingHours);
-                return professionalRepository.save(professional);
+                Professional saved = professionalRepository.save(professional);
+                workingScheduleCache.invalidate(saved.getId());
+                catalogCache.invalidateProfessional(companyId, saved.getId());
+                return saved;
         }
 }
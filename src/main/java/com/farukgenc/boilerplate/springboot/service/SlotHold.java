@@ -0,0 +1,13 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Temporary reservation of an interval while a customer completes checkout.
+ * {@code client} identifies who placed it, for the per-client limits, and is
+ * not meant to be returned to callers.
+ */
+public record SlotHold(UUID token, UUID professionalId, LocalDateTime startTime, LocalDateTime endTime,
+        LocalDateTime expiresAt, String client) {
+}
@@ -0,0 +1,192 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.utils.HashedTimingWheel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory slot holds, indexed by token and by professional-day. Expiry is
+ * driven by a {@link HashedTimingWheel}, so an outstanding hold costs one map
+ * entry and one queued timeout, with no polling of the database.
+ * <p>
+ * Like {@link AvailabilityIndex}, holds are local to the node that issued
+ * them; the exclusion constraint still guards the final insert.
+ * <p>
+ * Holds are placed by unauthenticated guests, so each client is rate limited
+ * and may own only a few live holds, and each professional-day accepts only a
+ * few holds in total. A script can therefore not keep a whole day held.
+ */
+@Component
+public class SlotHoldRegistry {
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final Duration ttl;
+
+    private final AvailabilityProperties properties;
+
+    // Hold attempts per client in the current one-minute window
+    private final Cache<String, AtomicInteger> attempts;
+
+    private final Map<String, Integer> holdsPerClient = new ConcurrentHashMap<>();
+
+    private final Map<UUID, SlotHold> holds = new ConcurrentHashMap<>();
+
+    // Immutable lists, replaced atomically per key
+    private final Map<DayKey, List<SlotHold>> holdsByDay = new ConcurrentHashMap<>();
+
+    private final HashedTimingWheel expiryWheel;
+
+    @Autowired
+    public SlotHoldRegistry(AvailabilityProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Duration.ofMinutes(properties.getHoldTtlMinutes()), TICK);
+    }
+
+    /**
+     * With a hold lifetime and expiry resolution of the caller's choosing, so
+     * tests need not wait minutes for a hold to expire.
+     */
+    SlotHoldRegistry(AvailabilityProperties properties, MeterRegistry meterRegistry, Duration ttl, Duration tick) {
+        this.ttl = ttl;
+        this.properties = properties;
+        this.expiryWheel = new HashedTimingWheel("slot-hold-expiry", tick, TICKS_PER_WHEEL);
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+
+        Gauge.builder("availability.holds.active", holds, Map::size)
+                .description("Slot holds not yet consumed, released or expired")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        expiryWheel.stop();
+    }
+
+    /**
+     * Counts a hold request of the client, failing with 429 once it made more
+     * than {@code holdRequestsPerMinute} in the current minute.
+     */
+    void countAttempt(String client) {
+        // The window starts with the client's first attempt; increments do not extend it
+        if (attempts.get(client, c -> new AtomicInteger()).incrementAndGet() > properties
+                .getHoldRequestsPerMinute()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many hold requests");
+        }
+    }
+
+    /**
+     * Places a hold unless the interval overlaps a booking in {@code booked} or
+     * another live hold. Check and insert are atomic per professional-day. Fails
+     * with 429 when the client or the professional-day has too many live holds.
+     */
+    Optional<SlotHold> hold(UUID professionalId, LocalDateTime startTime, LocalDateTime endTime,
+            DayOccupancy booked, String client) {
+        if (holdsPerClient.merge(client, 1, Integer::sum) > properties.getMaxHoldsPerClient()) {
+            releaseClientHold(client);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many active holds");
+        }
+
+        SlotHold hold = new SlotHold(UUID.randomUUID(), professionalId, startTime, endTime,
+                LocalDateTime.now().plus(ttl), client);
+        DayKey key = new DayKey(professionalId, startTime.toLocalDate());
+
+        boolean[] placed = new boolean[1];
+        boolean[] dayFull = new boolean[1];
+        holdsByDay.compute(key, (k, current) -> {
+            List<SlotHold> existing = current != null ? current : List.of();
+            if (booked.overlaps(startTime, endTime) || existing.stream().anyMatch(other -> overlaps(other, hold))) {
+                return current;
+            }
+            if (existing.size() >= properties.getMaxHoldsPerProfessionalDay()) {
+                dayFull[0] = true;
+                return current;
+            }
+            List<SlotHold> updated = new ArrayList<>(existing);
+            updated.add(hold);
+            placed[0] = true;
+            return List.copyOf(updated);
+        });
+        if (!placed[0]) {
+            releaseClientHold(client);
+            if (dayFull[0]) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many active holds for this professional and day");
+            }
+            return Optional.empty();
+        }
+
+        holds.put(hold.token(), hold);
+        expiryWheel.schedule(() -> release(hold.token()), ttl);
+        return Optional.of(hold);
+    }
+
+    /**
+     * Adds the live holds of the professional-day to {@code booked}, skipping the
+     * one identified by {@code ownToken} (may be null).
+     */
+    DayOccupancy withHolds(UUID professionalId, LocalDate date, DayOccupancy booked, UUID ownToken) {
+        List<SlotHold> dayHolds = holdsByDay.get(new DayKey(professionalId, date));
+        if (dayHolds == null) {
+            return booked;
+        }
+        DayOccupancy occupancy = booked;
+        for (SlotHold hold : dayHolds) {
+            if (!hold.token().equals(ownToken)) {
+                occupancy = occupancy.with(hold.startTime(), hold.endTime());
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * Removes the hold; unknown or already expired tokens are ignored.
+     */
+    void release(UUID token) {
+        SlotHold hold = holds.remove(token);
+        if (hold == null) {
+            return;
+        }
+        releaseClientHold(hold.client());
+        holdsByDay.computeIfPresent(new DayKey(hold.professionalId(), hold.startTime().toLocalDate()),
+                (key, current) -> {
+                    List<SlotHold> remaining = current.stream().filter(other -> !other.token().equals(token))
+                            .toList();
+                    return remaining.isEmpty() ? null : remaining;
+                });
+    }
+
+    private void releaseClientHold(String client) {
+        holdsPerClient.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static boolean overlaps(SlotHold a, SlotHold b) {
+        return a.startTime().isBefore(b.endTime()) && b.startTime().isBefore(a.endTime());
+    }
+
+    private record DayKey(UUID professionalId, LocalDate date) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.PurgeProperties;
+import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeJob;
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeStatus;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.repository.TenantPurgeJobRepository;
+import com.farukgenc.boilerplate.springboot.utils.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes a tenant in the background, one bounded chunk per short transaction,
+ * so row locks on the shared tables are held for milliseconds instead of for
+ * the whole purge.
+ * <p>
+ * Progress and a lease are stored in {@code tenant_purge_job} together with
+ * each chunk. A purge interrupted by a restart or a crashed node is picked up
+ * again, by any node, once its lease expires.
+ * <p>
+ * The company is deactivated before the first chunk, and
+ * {@link ActiveCompanyGuard} keeps new bookings, customers, professionals and
+ * services out from then on.
+ */
+@Slf4j
+@Service
+public class TenantPurgeService {
+
+    private static final Set<TenantPurgeStatus> UNFINISHED = EnumSet.of(TenantPurgeStatus.PENDING,
+            TenantPurgeStatus.RUNNING);
+
+    /**
+     * Tables in foreign key order. Chunks are picked by ctid on plain tables and
+     * by id on the partitioned appointment table, where ctid is not unique.
+     */
+    enum Step {
+        APPOINTMENT_ARCHIVE("DELETE FROM appointment_archive WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM appointment_archive WHERE company_id = ? LIMIT ?))"),
+        APPOINTMENT("DELETE FROM appointment WHERE id IN "
+                + "(SELECT id FROM appointment WHERE company_id = ? LIMIT ?)"),
+        CUSTOMER("DELETE FROM customer WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM customer WHERE company_id = ? LIMIT ?))"),
+        PROFESSIONAL("DELETE FROM professional WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM professional WHERE company_id = ? LIMIT ?))"),
+        BUSINESS_SERVICE("DELETE FROM business_service WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM business_service WHERE company_id = ? LIMIT ?))"),
+        COMPANY_USER("DELETE FROM company_user WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM company_user WHERE company_id = ? LIMIT ?))"),
+        COMPANY("DELETE FROM company WHERE id = ?");
+
+        private final String deleteChunk;
+
+        Step(String deleteChunk) {
+            this.deleteChunk = deleteChunk;
+        }
+
+        private Object[] arguments(UUID companyId, int chunkSize) {
+            return this == COMPANY ? new Object[] { companyId } : new Object[] { companyId, chunkSize };
+        }
+    }
+
+    private final TenantPurgeJobRepository tenantPurgeJobRepository;
+    private final CompanyRepository companyRepository;
+    private final CatalogCache catalogCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final PurgeProperties purgeProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String leaseOwner = "purge-" + UUID.randomUUID();
+
+    // Jobs running on this node, so the resume sweep does not start them twice
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    // Kept private rather than exposed as a bean so it does not replace Spring
+    // Boot's applicationTaskExecutor
+    private final ExecutorService purgeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tenant-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TenantPurgeService(TenantPurgeJobRepository tenantPurgeJobRepository, CompanyRepository companyRepository,
+            CatalogCache catalogCache, JdbcTemplate jdbcTemplate, PurgeProperties purgeProperties, PlatformTransactionManager transactionManager) {
+        this.tenantPurgeJobRepository = tenantPurgeJobRepository;
+        this.companyRepository = companyRepository;
+        this.catalogCache = catalogCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.purgeProperties = purgeProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted jobs keep their progress and are resumed after the lease expires
+        purgeExecutor.shutdownNow();
+    }
+
+    /**
+     * Deactivates the company right away and schedules its deletion. Returns
+     * the already unfinished job when a purge of the company was requested before.
+     */
+    @Transactional
+    public TenantPurgeJob startPurge(UUID companyId) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new RuntimeException("Company not found"));
+
+        var existing = tenantPurgeJobRepository.findFirstByCompanyIdAndStatusIn(companyId, UNFINISHED);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        company.setActive(false);
+        companyRepository.save(company);
+        catalogCache.invalidateCompany(companyId);
+
+        TenantPurgeJob job = tenantPurgeJobRepository.save(TenantPurgeJob.builder()
+                .companyId(companyId)
+                .status(TenantPurgeStatus.PENDING)
+                .build());
+        TransactionCallbacks.afterCommit(() -> submit(job.getId()));
+        return job;
+    }
+
+    public boolean isPurging(UUID companyId) {
+        return tenantPurgeJobRepository.findFirstByCompanyIdAndStatusIn(companyId, UNFINISHED).isPresent();
+    }
+
+    public TenantPurgeJob findJob(UUID jobId) {
+        return tenantPurgeJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Purge job not found"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${purge.resume-interval-millis:60000}",
+            fixedDelayString = "${purge.resume-interval-millis:60000}")
+    public void resumeAbandonedJobs() {
+        tenantPurgeJobRepository.findResumableIds(UNFINISHED, LocalDateTime.now()).forEach(this::submit);
+    }
+
+    private void submit(UUID jobId) {
+        if (running.add(jobId)) {
+            purgeExecutor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    running.remove(jobId);
+                }
+            });
+        }
+    }
+
+    private void run(UUID jobId) {
+        Integer acquired = transactionTemplate.execute(status -> tenantPurgeJobRepository.acquireLease(jobId,
+                leaseOwner, leaseUntil(), LocalDateTime.now()));
+        if (acquired == null || acquired == 0) {
+            return;
+        }
+
+        TenantPurgeJob job = findJob(jobId);
+        log.info("Purging company {} (job {}), resuming at step {}", job.getCompanyId(), jobId, job.getCurrentStep());
+        try {
+            int first = job.getCurrentStep() != null ? Step.valueOf(job.getCurrentStep()).ordinal() : 0;
+            for (Step step : List.of(Step.values()).subList(first, Step.values().length)) {
+                if (step == Step.CUSTOMER) {
+                    // Appointments referencing the tables below would fail their deletion on a
+                    // foreign key, e.g. one written by a path that does not check the company
+                    purgeStep(job, Step.APPOINTMENT);
+                }
+                purgeStep(job, step);
+            }
+            finish(jobId, TenantPurgeStatus.COMPLETED, null);
+            log.info("Purged company {} (job {})", job.getCompanyId(), jobId);
+        } catch (LeaseLostException e) {
+            log.warn("Lease of purge job {} was taken over by another node", jobId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Purge job {} failed", jobId, e);
+            finish(jobId, TenantPurgeStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void purgeStep(TenantPurgeJob job, Step step) throws InterruptedException {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                int rows = jdbcTemplate.update(step.deleteChunk,
+                        step.arguments(job.getCompanyId(), purgeProperties.getChunkSize()));
+                if (tenantPurgeJobRepository.recordProgress(job.getId(), leaseOwner, step.name(), rows, leaseUntil(),
+                        LocalDateTime.now()) == 0) {
+                    throw new LeaseLostException();
+                }
+                return rows;
+            });
+            Thread.sleep(purgeProperties.getChunkPauseMillis());
+        } while (deleted == purgeProperties.getChunkSize());
+    }
+
+    private void finish(UUID jobId, TenantPurgeStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> tenantPurgeJobRepository.finish(jobId, leaseOwner, status,
+                error, LocalDateTime.now()));
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusSeconds(purgeProperties.getLeaseSeconds());
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
@@ -0,0 +1,173 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compiled form of {@code Professional.workingHours}: for each weekday the open
+ * intervals as ascending minute-of-day pairs {@code [start0, end0, start1,
+ * end1, ...]}, breaks already cut out. A closed day has no pairs.
+ * <p>
+ * The JSON is the array saved by the professional profile page, e.g.
+ * {@code [{"dayOfWeek": 1, "isOpen": true, "start": "09:00", "end": "18:00",
+ * "breaks": [{"start": "12:00", "end": "13:00"}]}]}, where {@code dayOfWeek}
+ * counts from 0 = Sunday. Weekdays missing from the array are closed.
+ */
+public final class WeeklySchedule {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Used when a professional never configured working hours: 09:00 - 18:00 every day.
+     */
+    static final WeeklySchedule DEFAULT;
+
+    static {
+        int[][] days = new int[7][];
+        Arrays.fill(days, new int[] { 9 * 60, 18 * 60 });
+        DEFAULT = new WeeklySchedule(days);
+    }
+
+    // Indexed by DayOfWeek.getValue() - 1, i.e. Monday first
+    private final int[][] openMinutes;
+
+    private WeeklySchedule(int[][] openMinutes) {
+        this.openMinutes = openMinutes;
+    }
+
+    /**
+     * Open intervals of the weekday as minute-of-day pairs. The returned array is
+     * shared and must not be modified.
+     */
+    int[] openIntervals(DayOfWeek day) {
+        return openMinutes[day.getValue() - 1];
+    }
+
+    public boolean isOpen(DayOfWeek day) {
+        return openIntervals(day).length > 0;
+    }
+
+    /**
+     * Whether {@code [start, end)} lies within a single open interval of its
+     * day. An end at midnight counts as the end of the start's day.
+     */
+    boolean covers(LocalDateTime start, LocalDateTime end) {
+        int startMinute = start.getHour() * 60 + start.getMinute();
+        int endMinute = end.toLocalDate().equals(start.toLocalDate()) ? end.getHour() * 60 + end.getMinute()
+                : end.equals(start.toLocalDate().plusDays(1).atStartOfDay()) ? MINUTES_PER_DAY : -1;
+        if (endMinute <= startMinute) {
+            return false;
+        }
+        int[] open = openIntervals(start.getDayOfWeek());
+        for (int i = 0; i < open.length; i += 2) {
+            if (open[i] <= startMinute && endMinute <= open[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static WeeklySchedule compile(JsonNode workingHours) {
+        List<List<int[]>> shifts = new ArrayList<>();
+        List<List<int[]>> breaks = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            shifts.add(new ArrayList<>());
+            breaks.add(new ArrayList<>());
+        }
+
+        for (JsonNode entry : workingHours) {
+            if (!entry.path("isOpen").asBoolean(entry.path("open").asBoolean(true))) {
+                continue;
+            }
+            int dayOfWeek = entry.path("dayOfWeek").asInt(-1);
+            if (dayOfWeek < 0 || dayOfWeek > 7) {
+                continue;
+            }
+            // 0 (JavaScript Sunday) and 7 (ISO Sunday) both map to index 6
+            int index = dayOfWeek == 0 ? 6 : dayOfWeek - 1;
+
+            addInterval(shifts.get(index), entry);
+            for (JsonNode pause : entry.path("breaks")) {
+                addInterval(breaks.get(index), pause);
+            }
+        }
+
+        int[][] days = new int[7][];
+        for (int i = 0; i < 7; i++) {
+            days[i] = subtract(merge(shifts.get(i)), merge(breaks.get(i)));
+        }
+        return new WeeklySchedule(days);
+    }
+
+    private static void addInterval(List<int[]> target, JsonNode node) {
+        int start = toMinuteOfDay(node.path("start").asText(null));
+        int end = toMinuteOfDay(node.path("end").asText(null));
+        if (start < 0 || end < 0) {
+            return;
+        }
+        // "00:00" as an end time means midnight at the end of the day
+        if (end == 0) {
+            end = MINUTES_PER_DAY;
+        }
+        if (start < end) {
+            target.add(new int[] { start, end });
+        }
+    }
+
+    private static int toMinuteOfDay(String time) {
+        if (time == null || time.isBlank()) {
+            return -1;
+        }
+        try {
+            LocalTime parsed = LocalTime.parse(time);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Sorts and coalesces overlapping or touching intervals.
+     */
+    private static List<int[]> merge(List<int[]> intervals) {
+        intervals.sort((a, b) -> Integer.compare(a[0], b[0]));
+        List<int[]> merged = new ArrayList<>();
+        for (int[] interval : intervals) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && interval[0] <= last[1]) {
+                last[1] = Math.max(last[1], interval[1]);
+            } else {
+                merged.add(new int[] { interval[0], interval[1] });
+            }
+        }
+        return merged;
+    }
+
+    private static int[] subtract(List<int[]> open, List<int[]> closed) {
+        List<Integer> result = new ArrayList<>();
+        for (int[] interval : open) {
+            int start = interval[0];
+            for (int[] pause : closed) {
+                if (pause[1] <= start || pause[0] >= interval[1]) {
+                    continue;
+                }
+                if (pause[0] > start) {
+                    result.add(start);
+                    result.add(pause[0]);
+                }
+                start = Math.max(start, pause[1]);
+            }
+            if (start < interval[1]) {
+                result.add(start);
+                result.add(interval[1]);
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
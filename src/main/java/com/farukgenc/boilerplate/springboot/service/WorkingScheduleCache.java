@@ -0,0 +1,94 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalWorkingHours;
+import com.farukgenc.boilerplate.springboot.utils.TransactionCallbacks;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compiled {@link WeeklySchedule} and company of each professional, so the
+ * slot engine never parses {@code working_hours} JSON on the request path.
+ * Entries are dropped when the professional saves new working hours.
+ */
+@Slf4j
+@Component
+public class WorkingScheduleCache {
+
+    private final ProfessionalRepository professionalRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<UUID, ProfessionalSchedule> schedules;
+
+    public WorkingScheduleCache(ProfessionalRepository professionalRepository, ObjectMapper objectMapper,
+            AvailabilityProperties properties, MeterRegistry meterRegistry) {
+        this.professionalRepository = professionalRepository;
+        this.objectMapper = objectMapper;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(properties.getSchedule().getMaxEntries())
+                .expireAfterWrite(Duration.ofMinutes(properties.getSchedule().getTtlMinutes()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, schedules, "workingSchedules");
+    }
+
+    public ProfessionalSchedule get(UUID professionalId) {
+        return getAll(List.of(professionalId)).get(professionalId);
+    }
+
+    /**
+     * Schedules of several professionals; the uncached ones are read with one query.
+     */
+    public Map<UUID, ProfessionalSchedule> getAll(Collection<UUID> professionalIds) {
+        return schedules.getAll(professionalIds, this::loadAll);
+    }
+
+    /**
+     * Drops the compiled schedule once the current transaction commits, so the
+     * next read sees the saved working hours.
+     */
+    public void invalidate(UUID professionalId) {
+        TransactionCallbacks.afterCommit(() -> schedules.invalidate(professionalId));
+    }
+
+    private Map<UUID, ProfessionalSchedule> loadAll(Set<? extends UUID> professionalIds) {
+        Map<UUID, ProfessionalSchedule> loaded = new HashMap<>();
+        for (ProfessionalWorkingHours row : professionalRepository.findWorkingHoursByIdIn(professionalIds)) {
+            loaded.put(row.professionalId(), new ProfessionalSchedule(row.companyId(), compile(row)));
+        }
+        // Unknown professionals get the default hours, as they did before schedules existed
+        for (UUID professionalId : professionalIds) {
+            loaded.putIfAbsent(professionalId, ProfessionalSchedule.UNKNOWN);
+        }
+        return loaded;
+    }
+
+    private WeeklySchedule compile(ProfessionalWorkingHours row) {
+        if (row.workingHours() == null || row.workingHours().isBlank()) {
+            return WeeklySchedule.DEFAULT;
+        }
+        try {
+            return WeeklySchedule.compile(objectMapper.readTree(row.workingHours()));
+        } catch (Exception e) {
+            log.warn("Invalid working hours for professional {}, using defaults: {}", row.professionalId(),
+                    e.getMessage());
+            return WeeklySchedule.DEFAULT;
+        }
+    }
+}
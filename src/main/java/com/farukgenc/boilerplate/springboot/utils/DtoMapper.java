@@ -3,16 +3,21 @@ package com.farukgenc.boilerplate.springboot.utils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.farukgenc.boilerplate.springboot.model.Appointment;
+import com.farukgenc.boilerplate.springboot.model.AuditLog;
 import com.farukgenc.boilerplate.springboot.model.BusinessService;
 import com.farukgenc.boilerplate.springboot.model.Company;
 import com.farukgenc.boilerplate.springboot.model.Customer;
 import com.farukgenc.boilerplate.springboot.model.Professional;
 import com.farukgenc.boilerplate.springboot.model.UserAccount;
 import com.farukgenc.boilerplate.springboot.payload.response.AppointmentResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.AuditLogResponse;
 import com.farukgenc.boilerplate.springboot.payload.response.BusinessServiceResponse;
 import com.farukgenc.boilerplate.springboot.payload.response.CompanyResponse;
 import com.farukgenc.boilerplate.springboot.payload.response.CustomerResponse;
 import com.farukgenc.boilerplate.springboot.payload.response.ProfessionalResponse;
+import com.farukgenc.boilerplate.springboot.repository.projection.BusinessServiceSummary;
+import com.farukgenc.boilerplate.springboot.repository.projection.CompanySummary;
+import com.farukgenc.boilerplate.springboot.repository.projection.ProfessionalSummary;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -32,6 +37,15 @@ public class DtoMapper {
                 .build();
     }
 
+    public CompanyResponse toCompanyResponse(CompanySummary company) {
+        return CompanyResponse.builder()
+                .id(company.id())
+                .name(company.displayName())
+                .slug(company.slug())
+                .active(company.active())
+                .build();
+    }
+
     public BusinessServiceResponse toBusinessServiceResponse(BusinessService service) {
         if (service == null) {
             return null;
@@ -46,6 +60,17 @@ public class DtoMapper {
                 .build();
     }
 
+    public BusinessServiceResponse toBusinessServiceResponse(BusinessServiceSummary service) {
+        return BusinessServiceResponse.builder()
+                .id(service.id())
+                .name(service.name())
+                .description(service.description())
+                .price(service.price())
+                .durationMinutes(service.durationMinutes())
+                .active(service.active())
+                .build();
+    }
+
     public CustomerResponse toCustomerResponse(Customer customer) {
         if (customer == null) {
             return null;
@@ -83,19 +108,47 @@ public class DtoMapper {
             builder.phoneNumber(userAccount.getPhoneNumber());
         }
 
-        if (professional.getWorkingHours() != null) {
-            try {
-                // Parse the JSON string to an Object so it's serialized properly by Jackson,
-                // or we can just leave it as String and parse it in frontend.
-                // Using Object node keeps it clean in JSON response.
-                Object workingHoursObj = objectMapper.readValue(professional.getWorkingHours(), Object.class);
-                builder.workingHours(workingHoursObj);
-            } catch (JsonProcessingException e) {
-                builder.workingHours(professional.getWorkingHours());
-            }
+        return builder.workingHours(readJson(professional.getWorkingHours())).build();
+    }
+
+    public ProfessionalResponse toProfessionalResponse(ProfessionalSummary professional) {
+        return ProfessionalResponse.builder()
+                .id(professional.id())
+                .email(professional.email())
+                .fullName(professional.fullName())
+                .phoneNumber(professional.phoneNumber())
+                .active(professional.active())
+                .workingHours(readJson(professional.workingHours()))
+                .build();
+    }
+
+    public AuditLogResponse toAuditLogResponse(AuditLog auditLog) {
+        if (auditLog == null) {
+            return null;
         }
+        return AuditLogResponse.builder()
+                .id(auditLog.getId())
+                .entityName(auditLog.getEntityName())
+                .entityId(auditLog.getEntityId())
+                .action(auditLog.getAction())
+                .principal(auditLog.getPrincipal())
+                .timestamp(auditLog.getTimestamp())
+                .changes(readJson(auditLog.getChanges()))
+                .build();
+    }
 
-        return builder.build();
+    private Object readJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            // Parse the JSON string to an Object so it's serialized properly by Jackson,
+            // or we can just leave it as String and parse it in frontend.
+            // Using Object node keeps it clean in JSON response.
+            return objectMapper.readValue(json, Object.class);
+        } catch (JsonProcessingException e) {
+            return json;
+        }
     }
 
     public AppointmentResponse toAppointmentResponse(Appointment appointment) {
@@ -0,0 +1,106 @@
+package com.farukgenc.boilerplate.springboot.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timing wheel for large numbers of short, coarse timeouts. Scheduling
+ * is a lock-free enqueue; one daemon thread moves new timeouts into their
+ * bucket and, every tick, runs the expired ones of a single bucket. Timeouts
+ * fire up to one tick late and are never cancelled: tasks must tolerate
+ * running after the work they guard has completed.
+ */
+@Slf4j
+public final class HashedTimingWheel {
+
+	private final long tickNanos;
+
+	private final long startNanos;
+
+	private final List<Queue<Timeout>> buckets;
+
+	private final int mask;
+
+	private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+	private final ScheduledExecutorService ticker;
+
+	// Only touched by the ticker thread
+	private long tick;
+
+	public HashedTimingWheel(String threadName, Duration tickDuration, int ticksPerWheel) {
+
+		if (Integer.bitCount(ticksPerWheel) != 1) {
+			throw new IllegalArgumentException("ticksPerWheel must be a power of two");
+		}
+
+		this.tickNanos = tickDuration.toNanos();
+		this.startNanos = System.nanoTime();
+		this.buckets = new ArrayList<>(ticksPerWheel);
+		for (int i = 0; i < ticksPerWheel; i++) {
+			buckets.add(new ArrayDeque<>());
+		}
+		this.mask = ticksPerWheel - 1;
+		this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, threadName);
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void schedule(Runnable task, Duration delay) {
+
+		long deadlineTick = Math.ceilDiv(System.nanoTime() - startNanos + delay.toNanos(), tickNanos);
+		pending.add(new Timeout(deadlineTick, task));
+	}
+
+	public void stop() {
+
+		ticker.shutdownNow();
+	}
+
+	private void advance() {
+
+		long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+		for (; tick <= currentTick; tick++) {
+			for (Timeout timeout; (timeout = pending.poll()) != null;) {
+				// A deadline already passed lands in the bucket processed right now
+				buckets.get((int) (Math.max(timeout.deadlineTick(), tick) & mask)).add(timeout);
+			}
+
+			// Timeouts more than one revolution away stay until their round comes
+			Iterator<Timeout> bucket = buckets.get((int) (tick & mask)).iterator();
+			while (bucket.hasNext()) {
+				Timeout timeout = bucket.next();
+				if (timeout.deadlineTick() <= tick) {
+					bucket.remove();
+					run(timeout.task());
+				}
+			}
+		}
+	}
+
+	private static void run(Runnable task) {
+
+		try {
+			task.run();
+		} catch (RuntimeException e) {
+			log.warn("Timing wheel task failed", e);
+		}
+	}
+
+	private record Timeout(long deadlineTick, Runnable task) {
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.farukgenc.boilerplate.springboot.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionCallbacks {
+
+	private TransactionCallbacks() {
+
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Runs the action once the current transaction commits, or right away when no
+	 * transaction is active. Nothing runs if the transaction rolls back.
+	 */
+	public static void afterCommit(Runnable action) {
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+}
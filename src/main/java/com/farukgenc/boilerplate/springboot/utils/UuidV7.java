@@ -0,0 +1,38 @@
+package com.farukgenc.boilerplate.springboot.utils;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by
+ * random bits, so keys generated later sort later and B-tree inserts append
+ * to the right edge of the index instead of landing on random pages.
+ * <p>
+ * The 12-bit {@code rand_a} field is used as a counter within the same
+ * millisecond, which keeps ids generated by this JVM strictly increasing.
+ */
+public final class UuidV7 {
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	// Last issued (unix_ts_ms << 12 | counter)
+	private static final AtomicLong LAST = new AtomicLong();
+
+	private UuidV7() {
+
+		throw new UnsupportedOperationException();
+	}
+
+	public static UUID generate() {
+
+		long now = System.currentTimeMillis() << 12;
+		// Overflowing the counter borrows from the next millisecond, keeping order
+		long timeAndCounter = LAST.updateAndGet(last -> Math.max(now, last + 1));
+
+		long mostSignificant = (timeAndCounter >>> 12) << 16 | 0x7000L | (timeAndCounter & 0xFFFL);
+		long leastSignificant = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+		return new UUID(mostSignificant, leastSignificant);
+	}
+
+}
@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:10
+-- Comment: Changed properties of UPDATE audit records, as {"property": {"old": ..., "new": ...}}
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_name='audit_log' AND column_name='changes'
+
+ALTER TABLE audit_log ADD COLUMN changes JSONB;
@@ -0,0 +1,54 @@
+-- liquibase formatted sql
+
+-- changeset leo-nardo:11-1 splitStatements:false
+-- Comment: Creates (if missing) the monthly partition of audit_log containing the given date
+CREATE OR REPLACE FUNCTION create_audit_log_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    from_month DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'audit_log_' || to_char(from_month, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF audit_log FOR VALUES FROM (%L) TO (%L)',
+            partition_name, from_month, (from_month + INTERVAL '1 month')::date);
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- changeset leo-nardo:11-2
+-- Comment: Range-partition audit_log by timestamp month, so retention drops whole partitions
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname='audit_log'
+
+ALTER TABLE audit_log RENAME TO audit_log_unpartitioned;
+ALTER INDEX audit_log_pkey RENAME TO audit_log_unpartitioned_pkey;
+
+-- The partition key must be part of the primary key
+CREATE TABLE audit_log (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    entity_name VARCHAR(255) NOT NULL,
+    entity_id VARCHAR(255) NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    principal VARCHAR(255) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    company_id UUID,
+    changes JSONB,
+
+    CONSTRAINT audit_log_pkey PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE INDEX idx_audit_log_company_timestamp ON audit_log(company_id, timestamp, id);
+CREATE INDEX idx_audit_log_entity ON audit_log(entity_name, entity_id);
+
+-- Every month holding existing rows, plus the next one; later months are added by PartitionMaintenanceJob
+SELECT create_audit_log_partition(month::date)
+FROM generate_series(
+    date_trunc('month', LEAST(COALESCE((SELECT MIN(timestamp) FROM audit_log_unpartitioned), now()::timestamp), now()::timestamp)),
+    date_trunc('month', GREATEST(COALESCE((SELECT MAX(timestamp) FROM audit_log_unpartitioned), now()::timestamp), now()::timestamp + INTERVAL '1 month')),
+    INTERVAL '1 month') AS month;
+
+INSERT INTO audit_log (id, entity_name, entity_id, action, principal, timestamp, company_id, changes)
+SELECT id, entity_name, entity_id, action, principal, timestamp, company_id, changes
+FROM audit_log_unpartitioned;
+
+DROP TABLE audit_log_unpartitioned;
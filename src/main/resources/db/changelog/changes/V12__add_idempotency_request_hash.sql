@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:12
+-- Comment: Hash of the request that claimed an idempotency key, so reuse with another payload is rejected
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_name='idempotency_key' AND column_name='request_hash'
+
+ALTER TABLE idempotency_key ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:13
+-- Comment: Appointments running into a later month, which the per-partition exclusion constraints cannot see
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM pg_indexes WHERE indexname='idx_appointment_month_crossing'
+
+CREATE INDEX idx_appointment_month_crossing ON appointment(professional_id, end_time)
+    WHERE date_trunc('month', start_time) <> date_trunc('month', end_time - INTERVAL '1 microsecond');
@@ -0,0 +1,7 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:14
+-- Comment: Token of the request holding an idempotency key, so a request whose lease was taken over cannot complete or release it
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_name='idempotency_key' AND column_name='claim_token'
+
+ALTER TABLE idempotency_key ADD COLUMN claim_token VARCHAR(36);
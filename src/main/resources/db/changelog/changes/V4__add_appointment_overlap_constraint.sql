@@ -0,0 +1,62 @@
+-- liquibase formatted sql
+
+-- changeset leo-nardo:4-0 splitStatements:false
+-- Comment: Cancel the later of overlapping appointments, which appointment_no_overlap would reject
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_name='appointment' AND column_name='time_range'
+DO $$
+DECLARE
+    candidate RECORD;
+    kept_id UUID;
+BEGIN
+    -- Only rows overlapping another one are candidates; they are visited oldest first,
+    -- so a row is kept unless it overlaps a row that was kept before it
+    FOR candidate IN
+        SELECT a.id, a.professional_id, a.start_time, a.end_time,
+               COALESCE(a.created_at, 'infinity'::timestamp) AS created_at
+        FROM appointment a
+        WHERE a.status <> 'CANCELED'
+          AND EXISTS (SELECT 1 FROM appointment o
+                      WHERE o.professional_id = a.professional_id
+                        AND o.id <> a.id
+                        AND o.status <> 'CANCELED'
+                        AND o.start_time < a.end_time
+                        AND a.start_time < o.end_time)
+        ORDER BY 5, a.id
+    LOOP
+        SELECT o.id INTO kept_id
+        FROM appointment o
+        WHERE o.professional_id = candidate.professional_id
+          AND (COALESCE(o.created_at, 'infinity'::timestamp), o.id) < (candidate.created_at, candidate.id)
+          AND o.status <> 'CANCELED'
+          AND o.start_time < candidate.end_time
+          AND candidate.start_time < o.end_time
+        LIMIT 1;
+
+        IF kept_id IS NOT NULL THEN
+            UPDATE appointment
+            SET status = 'CANCELED',
+                notes = concat_ws(E'\n', notes, 'Canceled by migration: overlaps appointment ' || kept_id),
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = candidate.id;
+            RAISE WARNING 'Canceled appointment % of professional %: it overlaps appointment %',
+                candidate.id, candidate.professional_id, kept_id;
+        END IF;
+    END LOOP;
+END;
+$$;
+
+-- changeset leo-nardo:4
+-- Comment: Let the database reject overlapping appointments of a professional
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.columns WHERE table_name='appointment' AND column_name='time_range'
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE appointment
+    ADD COLUMN time_range TSRANGE GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED;
+
+ALTER TABLE appointment
+    ADD CONSTRAINT appointment_no_overlap
+    EXCLUDE USING gist (professional_id WITH =, time_range WITH &&)
+    WHERE (status <> 'CANCELED');
@@ -0,0 +1,16 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:5
+-- Comment: Responses of public POSTs keyed by their Idempotency-Key header, shared by all nodes
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_name='idempotency_key'
+
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(320) PRIMARY KEY,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    status INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key(expires_at);
@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:6
+-- Comment: Keyset pagination of appointment listings on (start_time, id) per company
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM pg_indexes WHERE indexname='idx_appointment_company_start'
+
+CREATE INDEX idx_appointment_company_start ON appointment(company_id, start_time, id);
+
+-- Its leading column makes the new index cover every lookup the old one served
+DROP INDEX IF EXISTS idx_appointment_company;
@@ -0,0 +1,72 @@
+-- liquibase formatted sql
+
+-- changeset leo-nardo:7-1 splitStatements:false
+-- Comment: Creates (if missing) the monthly partition of appointment containing the given date
+CREATE OR REPLACE FUNCTION create_appointment_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    from_month DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'appointment_' || to_char(from_month, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF appointment FOR VALUES FROM (%L) TO (%L)',
+            partition_name, from_month, (from_month + INTERVAL '1 month')::date);
+        -- Exclusion constraints cannot be declared on the partitioned parent, so
+        -- every partition carries its own copy of appointment_no_overlap
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist '
+                || '(professional_id WITH =, time_range WITH &&) WHERE (status <> %L)',
+            partition_name, partition_name || '_no_overlap', 'CANCELED');
+    END IF;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- changeset leo-nardo:7-2
+-- Comment: Range-partition appointment by start_time month
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname='appointment'
+
+ALTER TABLE appointment RENAME TO appointment_unpartitioned;
+ALTER TABLE appointment_unpartitioned DROP CONSTRAINT appointment_no_overlap;
+ALTER INDEX appointment_pkey RENAME TO appointment_unpartitioned_pkey;
+DROP INDEX idx_appointment_company_start;
+DROP INDEX idx_appointment_professional_start;
+
+-- The partition key must be part of the primary key
+CREATE TABLE appointment (
+    id UUID NOT NULL DEFAULT uuid_generate_v4(),
+    company_id UUID NOT NULL,
+    professional_id UUID NOT NULL,
+    customer_id UUID,
+    service_id UUID,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    notes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    time_range TSRANGE GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED,
+
+    CONSTRAINT appointment_pkey PRIMARY KEY (id, start_time),
+    CONSTRAINT fk_appointment_company FOREIGN KEY (company_id) REFERENCES company(id),
+    CONSTRAINT fk_appointment_professional FOREIGN KEY (professional_id) REFERENCES professional(id),
+    CONSTRAINT fk_appointment_customer FOREIGN KEY (customer_id) REFERENCES customer(id),
+    CONSTRAINT fk_appointment_service FOREIGN KEY (service_id) REFERENCES business_service(id)
+) PARTITION BY RANGE (start_time);
+
+CREATE INDEX idx_appointment_company_start ON appointment(company_id, start_time, id);
+CREATE INDEX idx_appointment_professional_start ON appointment(professional_id, start_time);
+
+-- Every month holding existing rows, plus a year ahead; later months are added by PartitionMaintenanceJob
+SELECT create_appointment_partition(month::date)
+FROM generate_series(
+    date_trunc('month', LEAST(COALESCE((SELECT MIN(start_time) FROM appointment_unpartitioned), now()::timestamp), now()::timestamp)),
+    date_trunc('month', GREATEST(COALESCE((SELECT MAX(start_time) FROM appointment_unpartitioned), now()::timestamp), now()::timestamp + INTERVAL '12 months')),
+    INTERVAL '1 month') AS month;
+
+INSERT INTO appointment (id, company_id, professional_id, customer_id, service_id, start_time, end_time, status, notes,
+                         created_at, updated_at)
+SELECT id, company_id, professional_id, customer_id, service_id, start_time, end_time, status, notes,
+       created_at, updated_at
+FROM appointment_unpartitioned;
+
+DROP TABLE appointment_unpartitioned;
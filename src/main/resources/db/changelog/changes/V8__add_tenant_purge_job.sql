@@ -0,0 +1,23 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:8
+-- Comment: Progress and lease of background tenant purges, so they survive restarts
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_name='tenant_purge_job'
+
+CREATE TABLE tenant_purge_job (
+    id UUID PRIMARY KEY,
+    company_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    current_step VARCHAR(50),
+    rows_deleted BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    lease_owner VARCHAR(255),
+    lease_until TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+-- No foreign key: the job outlives the company it deletes
+CREATE INDEX idx_tenant_purge_job_company ON tenant_purge_job(company_id);
+CREATE INDEX idx_tenant_purge_job_status ON tenant_purge_job(status);
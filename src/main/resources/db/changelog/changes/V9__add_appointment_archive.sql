@@ -0,0 +1,25 @@
+-- liquibase formatted sql
+-- changeset leo-nardo:9
+-- Comment: Cold storage for old completed and cancelled appointments, moved out of appointment by AppointmentArchiveJob
+--preconditions onFail:MARK_RAN onError:HALT
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_name='appointment_archive'
+
+-- Same columns as appointment, without the overlap range: archived rows never
+-- take part in availability. No foreign keys either, so archiving never slows
+-- down writes to the catalog tables.
+CREATE TABLE appointment_archive (
+    id UUID PRIMARY KEY,
+    company_id UUID NOT NULL,
+    professional_id UUID NOT NULL,
+    customer_id UUID,
+    service_id UUID,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    notes TEXT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_appointment_archive_company_start ON appointment_archive(company_id, start_time, id);
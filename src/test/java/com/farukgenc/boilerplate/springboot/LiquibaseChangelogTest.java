@@ -0,0 +1,228 @@
+package com.farukgenc.boilerplate.springboot;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.LiquibaseException;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Runs the Liquibase changelog against Postgres 16, both on an empty database
+ * and as an upgrade of one holding rows from before appointment and audit_log
+ * were partitioned or overlapping appointments were rejected. Each test works
+ * in a database of its own.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LiquibaseChangelogTest {
+
+    private static final String CHANGELOG = "db/changelog/db.changelog-master.yaml";
+
+    // V1 to V3, the schema right before appointment_no_overlap is added by V4
+    private static final int CHANGESETS_BEFORE_OVERLAP_CONSTRAINT = 3;
+
+    // V1 to V6, with the two changesets of V4: the schema right before appointment is partitioned by V7
+    private static final int CHANGESETS_BEFORE_PARTITIONING = 7;
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    @Test
+    void appliesEveryChangesetToAnEmptyDatabaseOnce() throws Exception {
+        try (Connection connection = newDatabase("changelog_fresh")) {
+            migrate(connection, null);
+            // A second run, like every application start, must find nothing left to do
+            migrate(connection, null);
+
+            JdbcTemplate jdbc = jdbc(connection);
+            assertThat(liquibase(connection).listUnrunChangeSets(new Contexts(), new LabelExpression())).isEmpty();
+            // Preconditions only skip a changeset whose change is already there
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM databasechangelog WHERE exectype <> 'EXECUTED'",
+                    Integer.class)).isZero();
+            assertThat(isPartitioned(jdbc, "appointment")).isTrue();
+            assertThat(isPartitioned(jdbc, "audit_log")).isTrue();
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.columns "
+                    + "WHERE table_name = 'idempotency_key' AND column_name = 'request_hash'", Integer.class))
+                    .isOne();
+        }
+    }
+
+    @Test
+    void upgradeMovesExistingRowsIntoMonthlyPartitions() throws Exception {
+        try (Connection connection = newDatabase("changelog_upgrade")) {
+            migrate(connection, CHANGESETS_BEFORE_PARTITIONING);
+
+            JdbcTemplate jdbc = jdbc(connection);
+            UUID companyId = insertCompany(jdbc);
+            UUID professionalId = insertProfessional(jdbc, companyId);
+            LocalDateTime pastStart = LocalDateTime.now().minusMonths(3).withHour(10).withMinute(0).withSecond(0)
+                    .withNano(0);
+            UUID appointmentId = insertAppointment(jdbc, companyId, professionalId, pastStart, "COMPLETED");
+            UUID auditLogId = UUID.randomUUID();
+            jdbc.update("INSERT INTO audit_log (id, entity_name, entity_id, action, principal, timestamp, company_id) "
+                    + "VALUES (?, 'Appointment', ?, 'CREATE', 'owner@test.local', ?, ?)", auditLogId,
+                    appointmentId.toString(), Timestamp.valueOf(pastStart), companyId);
+
+            migrate(connection, null);
+
+            assertThat(isPartitioned(jdbc, "appointment")).isTrue();
+            assertThat(jdbc.queryForObject("SELECT tableoid::regclass::text FROM appointment WHERE id = ?",
+                    String.class, appointmentId)).isEqualTo("appointment_" + pastStart.format(PARTITION_MONTH));
+            assertThat(isPartitioned(jdbc, "audit_log")).isTrue();
+            assertThat(jdbc.queryForObject("SELECT tableoid::regclass::text FROM audit_log WHERE id = ?",
+                    String.class, auditLogId)).isEqualTo("audit_log_" + pastStart.format(PARTITION_MONTH));
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM pg_class WHERE relname IN "
+                    + "('appointment_unpartitioned', 'audit_log_unpartitioned')", Integer.class)).isZero();
+
+            // Every partition carries its own copy of the overlap constraint
+            LocalDateTime nextWeek = LocalDateTime.now().plusWeeks(1).withHour(10).withMinute(0).withSecond(0)
+                    .withNano(0);
+            insertAppointment(jdbc, companyId, professionalId, nextWeek, "SCHEDULED");
+            assertThat(sqlStateOf(() -> insertAppointment(jdbc, companyId, professionalId, nextWeek.plusMinutes(15),
+                    "SCHEDULED"))).isEqualTo("23P01");
+            insertAppointment(jdbc, companyId, professionalId, nextWeek.plusMinutes(15), "CANCELED");
+
+            // Past the partitions created ahead there is no partition, which AppointmentService maps to a 400
+            assertThat(sqlStateOf(() -> insertAppointment(jdbc, companyId, professionalId,
+                    nextWeek.plusYears(2), "SCHEDULED"))).isEqualTo("23514");
+        }
+    }
+
+    @Test
+    void upgradeCancelsTheLaterOfOverlappingAppointments() throws Exception {
+        try (Connection connection = newDatabase("changelog_overlaps")) {
+            migrate(connection, CHANGESETS_BEFORE_OVERLAP_CONSTRAINT);
+
+            JdbcTemplate jdbc = jdbc(connection);
+            UUID companyId = insertCompany(jdbc);
+            UUID professionalId = insertProfessional(jdbc, companyId);
+            LocalDateTime day = LocalDateTime.now().plusWeeks(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+            LocalDateTime booked = day.minusDays(10);
+            UUID first = insertAppointment(jdbc, companyId, professionalId, day.withHour(10), day.withHour(11),
+                    "SCHEDULED", booked);
+            // A window blocked over the booking, and a second booking placed in the same hour
+            UUID blocked = insertAppointment(jdbc, companyId, professionalId, day.withHour(10), day.withHour(12),
+                    "BLOCKED", booked.plusDays(1));
+            UUID doubleBooked = insertAppointment(jdbc, companyId, professionalId, day.withHour(10).withMinute(30),
+                    day.withHour(11).withMinute(30), "SCHEDULED", booked.plusDays(2));
+            // Overlaps only the blocked window, which is canceled, so it stays
+            UUID afterBlock = insertAppointment(jdbc, companyId, professionalId, day.withHour(11).withMinute(30),
+                    day.withHour(12), "CONFIRMED", booked.plusDays(3));
+            UUID alreadyCanceled = insertAppointment(jdbc, companyId, professionalId, day.withHour(10),
+                    day.withHour(11), "CANCELED", booked.plusDays(4));
+
+            migrate(connection, null);
+
+            assertThat(statusOf(jdbc, first)).isEqualTo("SCHEDULED");
+            assertThat(statusOf(jdbc, blocked)).isEqualTo("CANCELED");
+            assertThat(statusOf(jdbc, doubleBooked)).isEqualTo("CANCELED");
+            assertThat(statusOf(jdbc, afterBlock)).isEqualTo("CONFIRMED");
+            assertThat(statusOf(jdbc, alreadyCanceled)).isEqualTo("CANCELED");
+            assertThat(jdbc.queryForObject("SELECT notes FROM appointment WHERE id = ?", String.class, blocked))
+                    .isEqualTo("Canceled by migration: overlaps appointment " + first);
+            assertThat(jdbc.queryForObject("SELECT notes FROM appointment WHERE id = ?", String.class,
+                    alreadyCanceled)).isNull();
+
+            assertThat(sqlStateOf(() -> insertAppointment(jdbc, companyId, professionalId, day.withHour(10),
+                    "SCHEDULED"))).isEqualTo("23P01");
+        }
+    }
+
+    private static Connection newDatabase(String name) throws SQLException {
+        try (Connection admin = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword()); Statement statement = admin.createStatement()) {
+            statement.execute("CREATE DATABASE " + name);
+        }
+        String url = "jdbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + name;
+        return DriverManager.getConnection(url, POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static Liquibase liquibase(Connection connection) throws LiquibaseException {
+        return new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), new JdbcConnection(connection));
+    }
+
+    private static void migrate(Connection connection, Integer changesets) throws LiquibaseException, SQLException {
+        Liquibase liquibase = liquibase(connection);
+        if (changesets != null) {
+            liquibase.update(changesets, new Contexts(), new LabelExpression());
+        } else {
+            liquibase.update(new Contexts(), new LabelExpression());
+        }
+        // Liquibase leaves auto-commit off; the statements of the tests stand on their own
+        connection.setAutoCommit(true);
+    }
+
+    private static JdbcTemplate jdbc(Connection connection) {
+        return new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+    }
+
+    private static boolean isPartitioned(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM pg_partitioned_table pt "
+                + "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?", Integer.class, table) == 1;
+    }
+
+    private static UUID insertCompany(JdbcTemplate jdbc) {
+        UUID companyId = UUID.randomUUID();
+        jdbc.update("INSERT INTO company (id, legal_name, slug) VALUES (?, 'Changelog Test', ?)", companyId,
+                "changelog-" + companyId);
+        return companyId;
+    }
+
+    private static UUID insertProfessional(JdbcTemplate jdbc, UUID companyId) {
+        UUID userId = UUID.randomUUID();
+        jdbc.update("INSERT INTO user_account (id, email, password_hash, full_name) VALUES (?, ?, 'x', 'Pro')",
+                userId, "pro-" + userId + "@test.local");
+        UUID professionalId = UUID.randomUUID();
+        jdbc.update("INSERT INTO professional (id, company_id, user_account_id) VALUES (?, ?, ?)", professionalId,
+                companyId, userId);
+        return professionalId;
+    }
+
+    private static UUID insertAppointment(JdbcTemplate jdbc, UUID companyId, UUID professionalId,
+            LocalDateTime start, String status) {
+        return insertAppointment(jdbc, companyId, professionalId, start, start.plusMinutes(30), status,
+                LocalDateTime.now());
+    }
+
+    private static UUID insertAppointment(JdbcTemplate jdbc, UUID companyId, UUID professionalId,
+            LocalDateTime start, LocalDateTime end, String status, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbc.update("INSERT INTO appointment (id, company_id, professional_id, start_time, end_time, status, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", id, companyId, professionalId,
+                Timestamp.valueOf(start), Timestamp.valueOf(end), status, Timestamp.valueOf(createdAt));
+        return id;
+    }
+
+    private static String statusOf(JdbcTemplate jdbc, UUID appointmentId) {
+        return jdbc.queryForObject("SELECT status FROM appointment WHERE id = ?", String.class, appointmentId);
+    }
+
+    private static String sqlStateOf(Runnable statement) {
+        Throwable failure = catchThrowable(statement::run);
+        assertThat(failure).isInstanceOf(DataIntegrityViolationException.class);
+        return ((SQLException) ((DataIntegrityViolationException) failure).getMostSpecificCause()).getSQLState();
+    }
+
+}
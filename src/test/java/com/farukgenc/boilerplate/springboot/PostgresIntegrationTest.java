@@ -0,0 +1,23 @@
+package com.farukgenc.boilerplate.springboot;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Boots the whole application against a throwaway Postgres 16, migrated by the
+ * Liquibase changelog like production. The schema relies on partitioning,
+ * exclusion constraints and jsonb, so there is no in-memory stand-in. Skipped
+ * where Docker is not available.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+}
@@ -0,0 +1,81 @@
+package com.farukgenc.boilerplate.springboot.audit;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With the queue full, the records a committed transaction could not queue
+ * are written by the caller and must end up in audit_log, not in a
+ * transaction that has already committed. The pool hands out connections with
+ * auto-commit off, where a write joining the committed transaction is rolled
+ * back once the connection returns to the pool.
+ */
+@TestPropertySource(properties = { "audit.mode=ASYNC", "audit.queue-capacity=1",
+        "audit.flush-interval-millis=3600000", "spring.datasource.hikari.auto-commit=false",
+        "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true" })
+class AuditLogWriterOverflowTest extends PostgresIntegrationTest {
+
+    private static final int SERVICES = 5;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private BusinessServiceRepository businessServiceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsOverflowingTheQueueAreWrittenByTheCaller() {
+        UUID companyId = companyRepository.save(Company.builder()
+                .legalName("Audit Overflow")
+                .slug("audit-overflow-" + UUID.randomUUID())
+                .build()).getId();
+        double overflowsBefore = overflows();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < SERVICES; i++) {
+                businessServiceRepository.save(BusinessService.builder()
+                        .companyId(companyId)
+                        .name("Service " + i)
+                        .price(BigDecimal.TEN)
+                        .durationMinutes(30)
+                        .build());
+            }
+        });
+
+        // The writer thread does not run within the test, so only the caller's rows are there
+        int overflowed = (int) (overflows() - overflowsBefore);
+        assertThat(overflowed).isGreaterThanOrEqualTo(SERVICES - 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_log WHERE company_id = ? "
+                + "AND entity_name = 'BusinessService' AND action = 'CREATE'", Integer.class, companyId))
+                .isEqualTo(overflowed);
+    }
+
+    private double overflows() {
+        return meterRegistry.get("audit.queue.overflow").counter().count();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.farukgenc.boilerplate.springboot.audit;
+
+import com.farukgenc.boilerplate.springboot.model.Appointment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per audited event of reading the entity name and id: the reflective
+ * lookup the audit pipeline used to do for every event, against
+ * {@link AuditedType} for an {@code Identifiable} entity and for a class that
+ * falls back to the cached {@code getId()} method handle.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="AuditedTypeBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditedTypeBenchmark {
+
+    /**
+     * Audited class that is not Identifiable, like an entity outside BaseTenantEntity.
+     */
+    public static class PlainEntity {
+
+        private final UUID id = UUID.randomUUID();
+
+        public UUID getId() {
+            return id;
+        }
+    }
+
+    private final Object appointment = Appointment.builder().id(UUID.randomUUID()).build();
+
+    private final Object plainEntity = new PlainEntity();
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) {
+        // The former AuditLogWriter.entityId plus the name lookup next to it
+        blackhole.consume(appointment.getClass().getSimpleName());
+        String id;
+        try {
+            Object value = appointment.getClass().getMethod("getId").invoke(appointment);
+            id = value != null ? value.toString() : AuditedType.UNKNOWN_ID;
+        } catch (Exception e) {
+            id = AuditedType.UNKNOWN_ID;
+        }
+        blackhole.consume(id);
+    }
+
+    @Benchmark
+    public void identifiable(Blackhole blackhole) {
+        AuditedType type = AuditedType.of(appointment);
+        blackhole.consume(type.entityName());
+        blackhole.consume(type.entityId(appointment));
+    }
+
+    @Benchmark
+    public void methodHandleFallback(Blackhole blackhole) {
+        AuditedType type = AuditedType.of(plainEntity);
+        blackhole.consume(type.entityName());
+        blackhole.consume(type.entityId(plainEntity));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuditedTypeBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
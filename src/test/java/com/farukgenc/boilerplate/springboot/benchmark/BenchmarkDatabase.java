@@ -0,0 +1,61 @@
+package com.farukgenc.boilerplate.springboot.benchmark;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Postgres for the database benchmarks: the one given by the
+ * {@code benchmark.jdbc-url}, {@code benchmark.username} and
+ * {@code benchmark.password} system properties, otherwise a Postgres 16
+ * container started for the run. JMH runs benchmarks in a forked JVM, so pass
+ * the properties with {@code -jvmArgsAppend}. Benchmarks create and drop their
+ * own tables, so point them at a scratch database only.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final PostgreSQLContainer<?> container;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private BenchmarkDatabase(PostgreSQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    static BenchmarkDatabase start() {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url != null) {
+            return new BenchmarkDatabase(null, url, System.getProperty("benchmark.username", "postgres"),
+                    System.getProperty("benchmark.password", ""));
+        }
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16");
+        container.start();
+        return new BenchmarkDatabase(container, container.getJdbcUrl(), container.getUsername(),
+                container.getPassword());
+    }
+
+    String url() {
+        return url;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+}
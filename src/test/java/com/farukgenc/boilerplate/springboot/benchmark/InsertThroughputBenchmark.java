@@ -0,0 +1,143 @@
+package com.farukgenc.boilerplate.springboot.benchmark;
+
+import com.farukgenc.boilerplate.springboot.utils.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput in rows per second, before and after UUIDv7 keys and JDBC
+ * batching: random v4 against time-ordered v7 primary keys, each inserted row
+ * by row or in batches of {@value #BATCH_SIZE} like
+ * {@code hibernate.jdbc.batch_size}. The table has the shape of audit_log,
+ * and it keeps growing across iterations, so random keys increasingly land on
+ * cold index pages.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=InsertThroughputBenchmark};
+ * see {@link BenchmarkDatabase} for the database used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class InsertThroughputBenchmark {
+
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    private static final int BATCH_SIZE = 50;
+
+    public enum KeyType {
+        V4(UUID::randomUUID), V7(UuidV7::generate);
+
+        private final Supplier<UUID> generator;
+
+        KeyType(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({ "V4", "V7" })
+    private KeyType keyType;
+
+    @Param({ "false", "true" })
+    private boolean batched;
+
+    private BenchmarkDatabase database;
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    private final UUID companyId = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        database = BenchmarkDatabase.start();
+        Properties properties = new Properties();
+        properties.setProperty("user", database.username());
+        properties.setProperty("password", database.password());
+        // Same driver setting as spring.datasource.hikari.data-source-properties
+        properties.setProperty("reWriteBatchedInserts", "true");
+        connection = DriverManager.getConnection(database.url(), properties);
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS insert_benchmark");
+            statement.execute("CREATE TABLE insert_benchmark (id UUID PRIMARY KEY, entity_name VARCHAR(255) NOT NULL, "
+                    + "entity_id VARCHAR(255) NOT NULL, action VARCHAR(50) NOT NULL, "
+                    + "principal VARCHAR(255) NOT NULL, timestamp TIMESTAMP NOT NULL, company_id UUID)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO insert_benchmark "
+                + "(id, entity_name, entity_id, action, principal, timestamp, company_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE insert_benchmark");
+            connection.commit();
+        } finally {
+            connection.close();
+            database.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_TRANSACTION)
+    public void insertRows() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 1; i <= ROWS_PER_TRANSACTION; i++) {
+            insert.setObject(1, keyType.generator.get());
+            insert.setString(2, "Appointment");
+            insert.setString(3, companyId.toString());
+            insert.setString(4, "CREATE");
+            insert.setString(5, "benchmark@test.local");
+            insert.setTimestamp(6, now);
+            insert.setObject(7, companyId);
+            if (!batched) {
+                insert.executeUpdate();
+            } else {
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        if (batched) {
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InsertThroughputBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
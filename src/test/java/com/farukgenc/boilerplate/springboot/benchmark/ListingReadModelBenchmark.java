@@ -0,0 +1,187 @@
+package com.farukgenc.boilerplate.springboot.benchmark;
+
+import com.farukgenc.boilerplate.springboot.SpringBootBoilerplateApplication;
+import com.farukgenc.boilerplate.springboot.payload.response.BusinessServiceResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.CustomerResponse;
+import com.farukgenc.boilerplate.springboot.payload.response.ProfessionalResponse;
+import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.CustomerRepository;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU time and, with {@code -prof gc}, allocation per listing request of the
+ * customer, professional and business service endpoints. Each listing is read
+ * both ways: as managed entities mapped through {@link DtoMapper}, as the
+ * endpoints did before, and through the projection queries they use now.
+ * Both run in a read-only transaction like the services, and the catalog
+ * cache is bypassed so every call reaches the database.
+ * <p>
+ * Boots the application against {@link BenchmarkDatabase}. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ListingReadModelBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ListingReadModelBenchmark {
+
+    private static final String WORKING_HOURS = "[{\"dayOfWeek\": 1, \"isOpen\": true, \"start\": \"09:00\", "
+            + "\"end\": \"18:00\", \"breaks\": [{\"start\": \"12:00\", \"end\": \"13:00\"}]}, "
+            + "{\"dayOfWeek\": 2, \"isOpen\": true, \"start\": \"09:00\", \"end\": \"18:00\", \"breaks\": []}]";
+
+    // Rows in each of the company's listings
+    @Param({ "50", "500" })
+    private int rows;
+
+    private BenchmarkDatabase database;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private CustomerRepository customerRepository;
+
+    private ProfessionalRepository professionalRepository;
+
+    private BusinessServiceRepository businessServiceRepository;
+
+    private DtoMapper dtoMapper;
+
+    private UUID companyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.start();
+        context = new SpringApplicationBuilder(SpringBootBoilerplateApplication.class)
+                // As arguments, since default properties lose to application.yml
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + database.url(),
+                        "--spring.datasource.username=" + database.username(),
+                        "--spring.datasource.password=" + database.password(),
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.com.farukgenc.boilerplate.springboot=WARN",
+                        "--logging.level.root=WARN");
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        customerRepository = context.getBean(CustomerRepository.class);
+        professionalRepository = context.getBean(ProfessionalRepository.class);
+        businessServiceRepository = context.getBean(BusinessServiceRepository.class);
+        dtoMapper = context.getBean(DtoMapper.class);
+
+        companyId = seedCompany(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        database.close();
+    }
+
+    @Benchmark
+    public List<CustomerResponse> customersAsEntities() {
+        return readOnlyTransaction.execute(status -> customerRepository.findByCompanyId(companyId).stream()
+                .map(dtoMapper::toCustomerResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<CustomerResponse> customersAsProjections() {
+        return readOnlyTransaction.execute(status -> customerRepository.findResponsesByCompanyId(companyId));
+    }
+
+    @Benchmark
+    public List<ProfessionalResponse> professionalsAsEntities() {
+        return readOnlyTransaction.execute(status -> professionalRepository.findByCompanyId(companyId).stream()
+                .map(dtoMapper::toProfessionalResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProfessionalResponse> professionalsAsProjections() {
+        return readOnlyTransaction.execute(status -> professionalRepository.findSummariesByCompanyId(companyId)
+                .stream()
+                .map(dtoMapper::toProfessionalResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BusinessServiceResponse> servicesAsEntities() {
+        return readOnlyTransaction.execute(status -> businessServiceRepository.findByCompanyId(companyId).stream()
+                .map(dtoMapper::toBusinessServiceResponse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BusinessServiceResponse> servicesAsProjections() {
+        return readOnlyTransaction.execute(status -> businessServiceRepository.findSummariesByCompanyId(companyId)
+                .stream()
+                .map(dtoMapper::toBusinessServiceResponse)
+                .toList());
+    }
+
+    private UUID seedCompany(JdbcTemplate jdbc) {
+        UUID company = UUID.randomUUID();
+        jdbc.update("INSERT INTO company (id, legal_name, slug) VALUES (?, 'Listing Benchmark', ?)", company,
+                "listing-benchmark-" + company);
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> customers = new ArrayList<>();
+        List<Object[]> professionals = new ArrayList<>();
+        List<Object[]> services = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            UUID customerUser = UUID.randomUUID();
+            UUID professionalUser = UUID.randomUUID();
+            users.add(new Object[] { customerUser, "customer-" + customerUser + "@test.local", "Customer " + i });
+            users.add(new Object[] { professionalUser, "pro-" + professionalUser + "@test.local", "Professional " + i });
+            customers.add(new Object[] { UUID.randomUUID(), company, customerUser, "Customer " + i });
+            professionals.add(new Object[] { UUID.randomUUID(), company, professionalUser, WORKING_HOURS });
+            services.add(new Object[] { UUID.randomUUID(), company, "Service " + i, BigDecimal.valueOf(25 + i) });
+        }
+        jdbc.batchUpdate("INSERT INTO user_account (id, email, password_hash, full_name, phone_number) "
+                + "VALUES (?, ?, 'x', ?, '555-0100')", users);
+        jdbc.batchUpdate("INSERT INTO customer (id, company_id, user_account_id, full_name) VALUES (?, ?, ?, ?)",
+                customers);
+        jdbc.batchUpdate("INSERT INTO professional (id, company_id, user_account_id, working_hours) "
+                + "VALUES (?, ?, ?, ?::jsonb)", professionals);
+        jdbc.batchUpdate("INSERT INTO business_service (id, company_id, name, description, price, duration_minutes) "
+                + "VALUES (?, ?, ?, 'Benchmark service', ?, 30)", services);
+        return company;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ListingReadModelBenchmark.class.getSimpleName()).build()).run();
+    }
+
+}
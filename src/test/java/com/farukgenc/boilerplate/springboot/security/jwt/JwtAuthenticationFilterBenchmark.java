@@ -0,0 +1,133 @@
+package com.farukgenc.boilerplate.springboot.security.jwt;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.farukgenc.boilerplate.springboot.model.Permission;
+import com.farukgenc.boilerplate.springboot.model.Role;
+import com.farukgenc.boilerplate.springboot.model.UserAccount;
+import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
+import com.farukgenc.boilerplate.springboot.security.service.UserDetailsServiceImpl;
+import com.farukgenc.boilerplate.springboot.security.utils.SecurityConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * CPU time and, with {@code -prof gc}, allocation per authenticated request
+ * spent on the JWT. {@link #previousTokenHandling} repeats what the filter did
+ * before: three verifications, each building its own {@code Algorithm} and
+ * {@code JWTVerifier}, plus three {@code JWT.decode} calls for the tenant,
+ * permission and role claims. {@link #verifyOnce} is the single verification
+ * that replaced them, and {@link #filter} runs the whole filter with the user
+ * lookup stubbed out.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtAuthenticationFilterBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret";
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtTokenManager jwtTokenManager;
+
+    private JwtAuthenticationFilter filter;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Without Spring Boot's logging setup Logback would print every debug line
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setIssuer("www.farukgenc.com");
+        jwtProperties.setSecretKey(SECRET);
+        jwtProperties.setExpirationMinute(60);
+        jwtTokenManager = new JwtTokenManager(jwtProperties);
+
+        UserAccount user = UserAccount.builder().email("owner@test.local").password("x").fullName("Owner").build();
+        Set<Permission> permissions = List.of("MANAGE_SERVICES", "MANAGE_PROFESSIONALS", "MANAGE_CUSTOMERS",
+                "MANAGE_ALL_APPOINTMENTS", "MANAGE_COMPANY_SETTINGS", "VIEW_SERVICES", "VIEW_PROFESSIONALS",
+                "VIEW_CUSTOMERS").stream()
+                .map(name -> Permission.builder().name(name).build())
+                .collect(Collectors.toSet());
+        token = jwtTokenManager.generateToken(user, UUID.randomUUID(),
+                Role.builder().name("OWNER").permissions(permissions).build());
+
+        UserAccountRepository userAccountRepository = Mockito.mock(UserAccountRepository.class);
+        Mockito.when(userAccountRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        filter = new JwtAuthenticationFilter(jwtTokenManager, new UserDetailsServiceImpl(userAccountRepository));
+    }
+
+    @Benchmark
+    public void previousTokenHandling(Blackhole blackhole) {
+        // getUsernameFromToken, then validateToken: getUsernameFromToken and isTokenExpired
+        blackhole.consume(JWT.require(Algorithm.HMAC256(SECRET.getBytes())).build().verify(token).getSubject());
+        blackhole.consume(JWT.require(Algorithm.HMAC256(SECRET.getBytes())).build().verify(token).getSubject());
+        blackhole.consume(JWT.require(Algorithm.HMAC256(SECRET.getBytes())).build().verify(token).getExpiresAt()
+                .before(new Date()));
+        blackhole.consume(JWT.decode(token).getClaim("companyId").asString());
+        blackhole.consume(JWT.decode(token).getClaim("permissions").asList(String.class));
+        blackhole.consume(JWT.decode(token).getClaim("role").asString());
+    }
+
+    @Benchmark
+    public JwtClaims verifyOnce() {
+        return jwtTokenManager.verify(token);
+    }
+
+    @Benchmark
+    public void filter() throws ServletException, IOException {
+        // A fresh request each time: OncePerRequestFilter marks the ones it has seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/appointments");
+        request.addHeader(SecurityConstants.HEADER_STRING, SecurityConstants.TOKEN_PREFIX + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationFilterBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+
+}
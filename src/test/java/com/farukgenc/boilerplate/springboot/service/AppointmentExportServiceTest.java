@@ -0,0 +1,101 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV cells are quoted where the format needs it, and text a customer typed
+ * cannot become a formula once the export is opened in a spreadsheet.
+ */
+class AppointmentExportServiceTest {
+
+    private static final UUID COMPANY = UUID.randomUUID();
+
+    private static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private static final UUID PROFESSIONAL = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private static final UUID CUSTOMER = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 10, 0);
+
+    private final AppointmentHistoryService appointmentHistoryService = Mockito.mock(AppointmentHistoryService.class);
+
+    private final AppointmentExportService exportService = new AppointmentExportService(appointmentHistoryService,
+            new ObjectMapper(), Mockito.mock(PlatformTransactionManager.class));
+
+    @Test
+    void plainRowIsWrittenUnquotedAfterTheHeader() {
+        String csv = export(row("Ann Lee", "ann@test.local", "Haircut", "First visit"));
+
+        assertThat(csv.split("\n")).containsExactly(
+                "id,start_time,end_time,status,professional_id,professional_name,"
+                        + "customer_id,customer_name,customer_email,service_name,service_price,notes",
+                ID + ",2026-03-02T10:00,2026-03-02T10:30,SCHEDULED," + PROFESSIONAL + ",Pro,"
+                        + CUSTOMER + ",Ann Lee,ann@test.local,Haircut,25.00,First visit");
+    }
+
+    @Test
+    void cellsWithSeparatorsQuotesOrLineBreaksAreQuoted() {
+        String csv = export(row("Lee, Ann", "ann@test.local", "The \"deluxe\" cut", "Line one\nline two"));
+
+        assertThat(csv).contains(",\"Lee, Ann\",ann@test.local,\"The \"\"deluxe\"\" cut\",25.00,"
+                + "\"Line one\nline two\"\n");
+    }
+
+    @Test
+    void textStartingWithAFormulaCharacterIsPrefixedWithAnApostrophe() {
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "=HYPERLINK(\"http://x\")"))))
+                .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "+1+1")))).isEqualTo("'+1+1");
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "-2+3")))).isEqualTo("'-2+3");
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "@SUM(A1)")))).isEqualTo("'@SUM(A1)");
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "\t=1")))).isEqualTo("'\t=1");
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "\r=1")))).isEqualTo("\"'\r=1\"");
+    }
+
+    @Test
+    void everyTextColumnIsNeutralized() {
+        String csv = export(row("=name", "@mail", "-service", "+notes"));
+
+        assertThat(csv).contains(",'=name,'@mail,'-service,25.00,'+notes\n");
+    }
+
+    @Test
+    void formulaCharacterAfterTheFirstIsLeftAlone() {
+        assertThat(lastCell(export(row("Ann", "ann@test.local", "Haircut", "a=b-c")))).isEqualTo("a=b-c");
+    }
+
+    private String export(AppointmentExportRow row) {
+        Mockito.when(appointmentHistoryService.streamAll(COMPANY)).thenReturn(Stream.of(row));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(COMPANY, AppointmentExportService.Format.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String lastCell(String csv) {
+        String row = csv.substring(csv.indexOf('\n') + 1, csv.length() - 1);
+        return row.substring(row.indexOf(",25.00,") + ",25.00,".length());
+    }
+
+    private static AppointmentExportRow row(String customerName, String customerEmail, String serviceName,
+            String notes) {
+        return new AppointmentExportRow(ID, START, START.plusMinutes(30), AppointmentStatus.SCHEDULED,
+                PROFESSIONAL, "Pro", CUSTOMER, customerName, customerEmail, serviceName, new BigDecimal("25.00"),
+                notes);
+    }
+
+}
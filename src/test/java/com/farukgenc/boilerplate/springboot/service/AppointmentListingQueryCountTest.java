@@ -0,0 +1,171 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import com.farukgenc.boilerplate.springboot.model.Appointment;
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.model.CompanyUser;
+import com.farukgenc.boilerplate.springboot.model.Customer;
+import com.farukgenc.boilerplate.springboot.model.Professional;
+import com.farukgenc.boilerplate.springboot.model.UserAccount;
+import com.farukgenc.boilerplate.springboot.payload.response.AppointmentResponse;
+import com.farukgenc.boilerplate.springboot.repository.AppointmentRepository;
+import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.repository.CompanyUserRepository;
+import com.farukgenc.boilerplate.springboot.repository.CustomerRepository;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.RoleRepository;
+import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
+import com.farukgenc.boilerplate.springboot.utils.DtoMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regression test for the N+1 of GET /api/appointments: listing a page and
+ * mapping it like the controller does must cost the same number of statements
+ * whatever the number of appointments on it.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AppointmentListingQueryCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DtoMapper dtoMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CompanyUserRepository companyUserRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BusinessServiceRepository businessServiceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Test
+    void listingCostsTheSameStatementsForAnyNumberOfAppointments() {
+        Company small = createCompanyWithAppointments(2);
+        Company large = createCompanyWithAppointments(40);
+
+        long smallStatements = countStatementsOfListing(small, 2);
+        long largeStatements = countStatementsOfListing(large, 40);
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    private long countStatementsOfListing(Company company, int expectedRows) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        AppointmentPage page = appointmentService.findPageForUser(company.getId(), ownerEmail(company), null, null,
+                null, null, AppointmentService.MAX_PAGE_SIZE);
+        // Mapped outside the transaction like in AppointmentController, so anything not
+        // fetched up front would either fail or be loaded by another statement
+        List<AppointmentResponse> responses = page.appointments().stream()
+                .map(dtoMapper::toAppointmentResponse)
+                .toList();
+
+        assertThat(responses).hasSize(expectedRows);
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.getProfessional().getEmail()).isNotNull();
+            assertThat(response.getCustomer().getEmail()).isNotNull();
+            assertThat(response.getService().getName()).isNotNull();
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Company createCompanyWithAppointments(int count) {
+        Company company = companyRepository.save(Company.builder()
+                .legalName("Query Count " + count)
+                .slug("query-count-" + UUID.randomUUID())
+                .build());
+
+        UserAccount owner = userAccountRepository.save(userAccount(ownerEmail(company)));
+        companyUserRepository.save(CompanyUser.builder()
+                .userId(owner.getId())
+                .companyId(company.getId())
+                .role(roleRepository.findByName("OWNER").orElseThrow())
+                .build());
+
+        Professional professional = professionalRepository.save(Professional.builder()
+                .companyId(company.getId())
+                .userAccount(userAccountRepository.save(userAccount("pro-" + UUID.randomUUID() + "@test.local")))
+                .build());
+        BusinessService service = businessServiceRepository.save(BusinessService.builder()
+                .companyId(company.getId())
+                .name("Haircut")
+                .price(BigDecimal.TEN)
+                .durationMinutes(30)
+                .build());
+
+        LocalDateTime firstStart = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<Appointment> appointments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // A customer each, so every row needs its own customer and user account
+            Customer customer = customerRepository.save(Customer.builder()
+                    .companyId(company.getId())
+                    .fullName("Customer " + i)
+                    .userAccount(userAccountRepository.save(userAccount("customer-" + UUID.randomUUID() + "@test.local")))
+                    .build());
+            LocalDateTime start = firstStart.plusMinutes(30L * i);
+            appointments.add(Appointment.builder()
+                    .companyId(company.getId())
+                    .professional(professional)
+                    .customer(customer)
+                    .service(service)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30))
+                    .status(AppointmentStatus.SCHEDULED)
+                    .build());
+        }
+        appointmentRepository.saveAll(appointments);
+        return company;
+    }
+
+    private static UserAccount userAccount(String email) {
+        return UserAccount.builder()
+                .email(email)
+                .password("not-a-real-hash")
+                .fullName(email)
+                .build();
+    }
+
+    private static String ownerEmail(Company company) {
+        return "owner-" + company.getId() + "@test.local";
+    }
+
+}
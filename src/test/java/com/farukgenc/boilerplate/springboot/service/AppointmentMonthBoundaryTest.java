@@ -0,0 +1,109 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import com.farukgenc.boilerplate.springboot.exceptions.AppointmentConflictException;
+import com.farukgenc.boilerplate.springboot.model.Appointment;
+import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.model.Professional;
+import com.farukgenc.boilerplate.springboot.model.UserAccount;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Appointments of the same professional kept in different monthly partitions
+ * are not checked against each other by the exclusion constraints, so one
+ * running past midnight into the next month must still conflict with the
+ * bookings it overlaps there.
+ */
+class AppointmentMonthBoundaryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    private UUID companyId;
+
+    private UUID professionalId;
+
+    // Midnight starting a month that already has its partition
+    private LocalDateTime boundary;
+
+    @BeforeEach
+    void setUp() {
+        companyId = companyRepository.save(Company.builder()
+                .legalName("Month Boundary")
+                .slug("month-boundary-" + UUID.randomUUID())
+                .active(true)
+                .build()).getId();
+        Professional professional = professionalRepository.save(Professional.builder()
+                .companyId(companyId)
+                .userAccount(userAccountRepository.save(UserAccount.builder()
+                        .email("pro-" + UUID.randomUUID() + "@test.local")
+                        .password("not-a-real-hash")
+                        .fullName("Pro")
+                        .build()))
+                .build());
+        professionalId = professional.getId();
+        boundary = LocalDate.now().withDayOfMonth(1).plusMonths(2).atStartOfDay();
+    }
+
+    @Test
+    void bookingOverlappingAnAppointmentFromThePreviousMonthIsRejected() {
+        block(boundary.minusMinutes(30), boundary.plusMinutes(30));
+
+        assertConflict(boundary, boundary.plusMinutes(30));
+    }
+
+    @Test
+    void appointmentRunningIntoTheNextMonthOverBookingsThereIsRejected() {
+        block(boundary.plusMinutes(15), boundary.plusMinutes(45));
+
+        assertConflict(boundary.minusMinutes(30), boundary.plusMinutes(30));
+    }
+
+    @Test
+    void appointmentSpanningSeveralMonthsIsCheckedAgainstEachOfThem() {
+        block(boundary.minusMonths(1).minusDays(1), boundary.plusDays(1));
+
+        assertConflict(boundary.plusHours(12), boundary.plusHours(13));
+    }
+
+    @Test
+    void adjacentAndCanceledAppointmentsAcrossTheBoundaryDoNotConflict() {
+        Appointment crossing = block(boundary.minusMinutes(30), boundary.plusMinutes(30));
+        block(boundary.plusMinutes(30), boundary.plusMinutes(60));
+
+        appointmentService.cancelAppointment(crossing.getId());
+
+        assertThat(block(boundary, boundary.plusMinutes(30)).getId()).isNotNull();
+    }
+
+    private Appointment block(LocalDateTime start, LocalDateTime end) {
+        // Blocked time skips the working-hours check, so any time of day can be booked
+        return appointmentService.createAppointment(companyId, professionalId, null, null, start, end);
+    }
+
+    private void assertConflict(LocalDateTime start, LocalDateTime end) {
+        assertThatThrownBy(() -> block(start, end)).isInstanceOf(AppointmentConflictException.class);
+    }
+
+}
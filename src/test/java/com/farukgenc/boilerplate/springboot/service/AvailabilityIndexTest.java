@@ -0,0 +1,96 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.repository.AppointmentRepository;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A bulk load does not lock the days it reads, so a booking committed while
+ * it runs must keep the load's possibly stale result out of the index.
+ */
+class AvailabilityIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static final UUID PROFESSIONAL = UUID.randomUUID();
+
+    private final AppointmentRepository appointmentRepository = Mockito.mock(AppointmentRepository.class);
+
+    private final AvailabilityIndex index = new AvailabilityIndex(appointmentRepository,
+            new AvailabilityProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void bulkLoadedDaysAreCached() {
+        Mockito.when(appointmentRepository.findOccupiedIntervals(anyCollection(), any(), any()))
+                .thenReturn(List.of(interval(10)));
+
+        index.getRange(PROFESSIONAL, DATE, DATE.plusDays(1));
+        DayOccupancy day = index.get(PROFESSIONAL, DATE);
+
+        assertThat(day.size()).isEqualTo(1);
+        verify(appointmentRepository, times(1)).findOccupiedIntervals(anyCollection(), any(), any());
+        verify(appointmentRepository, times(0)).findOccupiedIntervals(any(UUID.class), any(), any());
+    }
+
+    @Test
+    void dayInvalidatedDuringABulkLoadIsReturnedButNotCached() {
+        Mockito.when(appointmentRepository.findOccupiedIntervals(anyCollection(), any(), any()))
+                .thenAnswer(invocation -> {
+                    // A booking commits after the load read the day
+                    index.invalidate(PROFESSIONAL, DATE);
+                    return List.of();
+                });
+        Mockito.when(appointmentRepository.findOccupiedIntervals(eq(PROFESSIONAL), any(), any()))
+                .thenReturn(List.of(interval(10)));
+
+        assertThat(index.getRange(PROFESSIONAL, DATE, DATE).get(DATE).size()).isZero();
+
+        assertThat(index.get(PROFESSIONAL, DATE).size()).isEqualTo(1);
+        verify(appointmentRepository, times(1)).findOccupiedIntervals(eq(PROFESSIONAL), any(), any());
+    }
+
+    @Test
+    void invalidationBeforeABulkLoadDoesNotKeepItsResultOut() {
+        index.invalidate(PROFESSIONAL, DATE);
+        Mockito.when(appointmentRepository.findOccupiedIntervals(anyCollection(), any(), any()))
+                .thenReturn(List.of(interval(10)));
+
+        index.getRange(PROFESSIONAL, DATE, DATE);
+
+        assertThat(index.get(PROFESSIONAL, DATE).size()).isEqualTo(1);
+        verify(appointmentRepository, times(0)).findOccupiedIntervals(any(UUID.class), any(), any());
+    }
+
+    @Test
+    void invalidatedDayIsLoadedAgain() {
+        Mockito.when(appointmentRepository.findOccupiedIntervals(eq(PROFESSIONAL), any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(interval(10)));
+        assertThat(index.get(PROFESSIONAL, DATE).size()).isZero();
+
+        index.invalidate(PROFESSIONAL, DATE);
+
+        assertThat(index.get(PROFESSIONAL, DATE).size()).isEqualTo(1);
+    }
+
+    private static AppointmentInterval interval(int hour) {
+        LocalDateTime start = DATE.atTime(hour, 0);
+        return new AppointmentInterval(PROFESSIONAL, start, start.plusMinutes(30));
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.model.Professional;
+import com.farukgenc.boilerplate.springboot.model.UserAccount;
+import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A catalog row deleted on another node stays in this node's cache until it
+ * expires; bookings must not trust that copy and fail on the foreign key.
+ */
+class CatalogCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private BusinessServiceRepository businessServiceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingAServiceDeletedOnAnotherNodeReportsItNotFound() {
+        UUID companyId = companyRepository.save(Company.builder()
+                .legalName("Catalog Cache")
+                .slug("catalog-cache-" + UUID.randomUUID())
+                .build()).getId();
+        Professional professional = professionalRepository.save(Professional.builder()
+                .companyId(companyId)
+                .userAccount(userAccountRepository.save(UserAccount.builder()
+                        .email("pro-" + UUID.randomUUID() + "@test.local")
+                        .password("not-a-real-hash")
+                        .fullName("Pro")
+                        .build()))
+                .build());
+        UUID serviceId = businessServiceRepository.save(BusinessService.builder()
+                .companyId(companyId)
+                .name("Haircut")
+                .price(BigDecimal.TEN)
+                .durationMinutes(30)
+                .build()).getId();
+        assertThat(catalogCache.businessService(serviceId)).hasValueSatisfying(service -> {
+            assertThat(service.companyId()).isEqualTo(companyId);
+            assertThat(service.durationMinutes()).isEqualTo(30);
+        });
+
+        // Deleted behind this node's back, so its cache entry is not dropped
+        jdbcTemplate.update("DELETE FROM business_service WHERE id = ?", serviceId);
+        assertThat(catalogCache.businessService(serviceId)).isPresent();
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+        assertThatThrownBy(() -> appointmentService.createAppointment(companyId, professional.getId(), serviceId,
+                null, start, start.plusMinutes(30)))
+                .hasMessage("Service not found");
+    }
+
+}
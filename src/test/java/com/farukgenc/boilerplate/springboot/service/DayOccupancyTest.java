@@ -0,0 +1,135 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Intervals stay in start order as they are added, and an overlap check sees
+ * every earlier interval, including one that reaches past later starts.
+ */
+class DayOccupancyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static final UUID PROFESSIONAL = UUID.randomUUID();
+
+    @Test
+    void emptyOccupancyOverlapsNothing() {
+        assertThat(DayOccupancy.of(List.of())).isSameAs(DayOccupancy.EMPTY);
+        assertThat(DayOccupancy.EMPTY.overlaps(at("00:00"), at("23:59"))).isFalse();
+    }
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        DayOccupancy occupancy = occupied("10:00", "11:00");
+
+        assertThat(occupancy.overlaps(at("09:00"), at("10:00"))).isFalse();
+        assertThat(occupancy.overlaps(at("11:00"), at("12:00"))).isFalse();
+        assertThat(occupancy.overlaps(at("09:00"), at("10:01"))).isTrue();
+        assertThat(occupancy.overlaps(at("10:59"), at("12:00"))).isTrue();
+        assertThat(occupancy.overlaps(at("10:20"), at("10:40"))).isTrue();
+        assertThat(occupancy.overlaps(at("09:00"), at("12:00"))).isTrue();
+    }
+
+    @Test
+    void secondsWidenAnIntervalToTheMinutesTheyTouch() {
+        DayOccupancy occupancy = DayOccupancy.EMPTY.with(at("10:00").plusSeconds(30), at("10:30").plusSeconds(1));
+
+        assertThat(occupancy.overlaps(at("09:00"), at("10:01"))).isTrue();
+        assertThat(occupancy.overlaps(at("10:30"), at("11:00"))).isTrue();
+        assertThat(occupancy.overlaps(at("10:31"), at("11:00"))).isFalse();
+    }
+
+    @Test
+    void intervalReachingPastLaterStartsIsStillSeen() {
+        DayOccupancy occupancy = occupied("09:00", "12:00", "09:30", "09:45", "10:00", "10:15");
+
+        assertThat(occupancy.overlaps(at("11:00"), at("11:30"))).isTrue();
+        assertThat(occupancy.overlaps(at("12:00"), at("12:30"))).isFalse();
+    }
+
+    @Test
+    void addedIntervalsAreKeptInStartOrder() {
+        DayOccupancy occupancy = occupied("09:00", "09:30", "11:00", "11:30")
+                .with(at("10:00"), at("10:30"))
+                .with(at("08:00"), at("08:30"))
+                .with(at("12:00"), at("12:30"));
+
+        assertThat(starts(occupancy)).containsExactly(at("08:00"), at("09:00"), at("10:00"), at("11:00"),
+                at("12:00"));
+        assertThat(occupancy.endMinute(2)).isEqualTo(DayOccupancy.floorMinute(at("10:30")));
+    }
+
+    @Test
+    void addedIntervalSharingAStartGoesFirst() {
+        DayOccupancy occupancy = occupied("10:00", "10:30").with(at("10:00"), at("11:00"));
+
+        assertThat(starts(occupancy)).containsExactly(at("10:00"), at("10:00"));
+        assertThat(occupancy.endMinute(0)).isEqualTo(DayOccupancy.floorMinute(at("11:00")));
+        assertThat(occupancy.overlaps(at("10:45"), at("11:15"))).isTrue();
+    }
+
+    @Test
+    void addedIntervalReachingPastLaterStartsIsSeenByOverlapChecks() {
+        DayOccupancy occupancy = occupied("10:00", "10:15", "11:00", "11:15").with(at("09:00"), at("12:00"));
+
+        assertThat(occupancy.overlaps(at("10:30"), at("10:45"))).isTrue();
+        assertThat(occupancy.overlaps(at("11:30"), at("11:45"))).isTrue();
+        assertThat(occupancy.overlaps(at("12:00"), at("12:15"))).isFalse();
+    }
+
+    @Test
+    void overlappingIntervalsAreKeptApartAndCoverTheirUnion() {
+        DayOccupancy occupancy = occupied("10:00", "11:00").with(at("10:30"), at("11:30"));
+
+        assertThat(occupancy.size()).isEqualTo(2);
+        assertThat(occupancy.overlaps(at("11:10"), at("11:20"))).isTrue();
+        assertThat(occupancy.overlaps(at("09:30"), at("10:00"))).isFalse();
+        assertThat(occupancy.overlaps(at("11:30"), at("12:00"))).isFalse();
+    }
+
+    @Test
+    void addingLeavesTheOriginalUnchanged() {
+        DayOccupancy original = occupied("10:00", "11:00");
+
+        DayOccupancy extended = original.with(at("12:00"), at("13:00"));
+
+        assertThat(original.size()).isEqualTo(1);
+        assertThat(original.overlaps(at("12:00"), at("13:00"))).isFalse();
+        assertThat(extended.size()).isEqualTo(2);
+        assertThat(extended.overlaps(at("12:00"), at("13:00"))).isTrue();
+    }
+
+    private static LocalDateTime at(String time) {
+        return DATE.atTime(LocalTime.parse(time));
+    }
+
+    private static List<LocalDateTime> starts(DayOccupancy occupancy) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int i = 0; i < occupancy.size(); i++) {
+            starts.add(at("00:00").plusMinutes(occupancy.startMinute(i) - DayOccupancy.floorMinute(at("00:00"))));
+        }
+        return starts;
+    }
+
+    /**
+     * Occupancy of start/end pairs, given in start order.
+     */
+    private static DayOccupancy occupied(String... bounds) {
+        List<AppointmentInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < bounds.length; i += 2) {
+            intervals.add(new AppointmentInterval(PROFESSIONAL, at(bounds[i]), at(bounds[i + 1])));
+        }
+        return DayOccupancy.of(intervals);
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Slot starts are found at minute resolution: seconds of a booking widen it to
+ * the minutes they touch, but nothing is rounded any further.
+ */
+class FreeTimeBitmapTest {
+
+    // A Monday
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static final UUID PROFESSIONAL = UUID.randomUUID();
+
+    @Test
+    void startsAreSpacedByTheStepFromTheOpeningMinute() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("09:03", "10:00"), DayOccupancy.EMPTY, DATE);
+
+        assertThat(bitmap.startTimes(7, 7))
+                .containsExactly("09:03", "09:10", "09:17", "09:24", "09:31", "09:38", "09:45", "09:52");
+    }
+
+    @Test
+    void bookingEndingOnAMinuteFreesThatMinute() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("10:00", "11:00"),
+                occupied(at("10:00"), at("10:02")), DATE);
+
+        assertThat(bitmap.startTimes(10, 1)).first().isEqualTo("10:02");
+    }
+
+    @Test
+    void bookingEndingWithinAMinuteKeepsThatMinuteOccupied() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("10:00", "11:00"),
+                occupied(at("10:00"), at("10:02").plusSeconds(30)), DATE);
+
+        assertThat(bitmap.startTimes(10, 1)).first().isEqualTo("10:03");
+    }
+
+    @Test
+    void bookingStartingWithinAMinuteOccupiesThatMinute() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("10:00", "11:00"),
+                occupied(at("10:20").plusSeconds(30), at("10:40")), DATE);
+
+        List<String> starts = bitmap.startTimes(10, 1);
+
+        assertThat(starts).contains("10:10", "10:40").doesNotContain("10:11", "10:39");
+    }
+
+    @Test
+    void freeRunExactlyAsLongAsTheDurationFitsButNotOneMinuteShort() {
+        DayOccupancy occupancy = occupied(at("10:00"), at("10:15"), at("10:45"), at("11:00"));
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("10:00", "11:00"), occupancy, DATE);
+
+        assertThat(bitmap.startTimes(30, 1)).containsExactly("10:15");
+        assertThat(bitmap.startTimes(31, 1)).isEmpty();
+    }
+
+    @Test
+    void gridResumesOnTheStepAfterAnOccupiedRun() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("09:00", "12:00"),
+                occupied(at("09:40"), at("10:10")), DATE);
+
+        assertThat(bitmap.startTimes(30, 30)).containsExactly("09:00", "10:30", "11:00", "11:30");
+    }
+
+    @Test
+    void lastStartEndsByTheClosingMinute() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("09:00", "09:59"), DayOccupancy.EMPTY, DATE);
+
+        assertThat(bitmap.startTimes(20, 20)).containsExactly("09:00", "09:20");
+    }
+
+    @Test
+    void eachOpenIntervalAnchorsItsOwnGrid() throws Exception {
+        WeeklySchedule schedule = WeeklySchedule.compile(new ObjectMapper().readTree("""
+                [{"dayOfWeek": 1, "isOpen": true, "start": "09:00", "end": "11:00",
+                  "breaks": [{"start": "10:00", "end": "10:07"}]}]
+                """));
+
+        assertThat(FreeTimeBitmap.of(schedule, DayOccupancy.EMPTY, DATE).startTimes(25, 25))
+                .containsExactly("09:00", "09:25", "10:07", "10:32");
+    }
+
+    @Test
+    void appointmentsReachingIntoTheDayFromNeighbouringDaysAreClipped() {
+        DayOccupancy occupancy = occupied(DATE.minusDays(1).atTime(23, 0), at("00:20"),
+                at("23:50"), DATE.plusDays(1).atTime(0, 30));
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("00:00", "00:00"), occupancy, DATE);
+
+        List<String> starts = bitmap.startTimes(20, 20);
+
+        assertThat(starts).first().isEqualTo("00:20");
+        assertThat(starts).last().isEqualTo("23:20");
+    }
+
+    @Test
+    void startsBeforeTheGivenMinuteAreLeftOut() {
+        FreeTimeBitmap bitmap = FreeTimeBitmap.of(openOnMonday("09:00", "10:00"), DayOccupancy.EMPTY, DATE);
+
+        assertThat(bitmap.startTimes(15, 15, 9 * 60 + 16)).containsExactly("09:30", "09:45");
+    }
+
+    private static WeeklySchedule openOnMonday(String start, String end) {
+        try {
+            return WeeklySchedule.compile(new ObjectMapper().readTree(
+                    "[{\"dayOfWeek\": 1, \"isOpen\": true, \"start\": \"" + start + "\", \"end\": \"" + end + "\"}]"));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static LocalDateTime at(String time) {
+        return DATE.atTime(LocalTime.parse(time));
+    }
+
+    /**
+     * Occupancy of start/end pairs, given in start order.
+     */
+    private static DayOccupancy occupied(LocalDateTime... bounds) {
+        List<AppointmentInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < bounds.length; i += 2) {
+            intervals.add(new AppointmentInterval(PROFESSIONAL, bounds[i], bounds[i + 1]));
+        }
+        return DayOccupancy.of(intervals);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A request that outlived its lease must not complete or release the key
+ * another request has taken over since.
+ */
+@TestPropertySource(properties = "idempotency.store=jdbc")
+class JdbcIdempotencyStoreTest extends PostgresIntegrationTest {
+
+    private static final String HASH = "request-hash";
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void requestWhoseLeaseWasTakenOverCannotReleaseTheKey() {
+        String key = takenOverKey("stale", "retry");
+
+        idempotencyStore.release(key, "stale");
+
+        assertThat(idempotencyStore.claim(key, "third", HASH))
+                .hasValueSatisfying(record -> assertThat(record.claimToken()).isEqualTo("retry"));
+    }
+
+    @Test
+    void requestWhoseLeaseWasTakenOverCannotStoreItsResponse() {
+        String key = takenOverKey("stale", "retry");
+
+        idempotencyStore.complete(key, "stale", 500, "\"stale\"");
+        assertThat(idempotencyStore.claim(key, "third", HASH))
+                .hasValueSatisfying(record -> assertThat(record.completed()).isFalse());
+
+        idempotencyStore.complete(key, "retry", 201, "\"retry\"");
+        assertThat(idempotencyStore.claim(key, "third", HASH)).hasValueSatisfying(record -> {
+            assertThat(record.completed()).isTrue();
+            assertThat(record.status()).isEqualTo(201);
+            assertThat(record.body()).isEqualTo("\"retry\"");
+        });
+    }
+
+    @Test
+    void holderReleasesItsOwnClaim() {
+        String key = "test:" + UUID.randomUUID();
+        assertThat(idempotencyStore.claim(key, "first", HASH)).isEmpty();
+
+        idempotencyStore.release(key, "first");
+
+        assertThat(idempotencyStore.claim(key, "second", HASH)).isEmpty();
+    }
+
+    /**
+     * Key claimed under {@code staleToken}, whose lease then ran out and was
+     * taken over under {@code currentToken}.
+     */
+    private String takenOverKey(String staleToken, String currentToken) {
+        String key = "test:" + UUID.randomUUID();
+        assertThat(idempotencyStore.claim(key, staleToken, HASH)).isEmpty();
+        jdbcTemplate.update("UPDATE idempotency_key SET expires_at = expires_at - INTERVAL '1 day' "
+                + "WHERE idempotency_key = ?", key);
+        assertThat(idempotencyStore.claim(key, currentToken, HASH)).isEmpty();
+        return key;
+    }
+
+}
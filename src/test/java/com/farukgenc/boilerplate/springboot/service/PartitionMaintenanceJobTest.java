@@ -0,0 +1,92 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Audit partitions past retention are detached concurrently, which Postgres
+ * refuses inside a transaction block, so this runs with the pool handing out
+ * connections with auto-commit off.
+ */
+@TestPropertySource(properties = { "partitions.audit-retention-months=24", "spring.datasource.hikari.auto-commit=false",
+        "spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true" })
+class PartitionMaintenanceJobTest extends PostgresIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private PartitionMaintenanceJob partitionMaintenanceJob;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void partitionPastRetentionIsDetachedAndDropped() {
+        YearMonth expired = YearMonth.now().minusMonths(30);
+        String partition = createAuditPartition(expired);
+        runInTransaction(() -> jdbcTemplate.update("INSERT INTO audit_log "
+                + "(entity_name, entity_id, action, principal, timestamp) VALUES ('Test', '1', 'INSERT', 'test', ?)",
+                expired.atDay(1).atTime(12, 0)));
+
+        partitionMaintenanceJob.maintainPartitions();
+
+        assertThat(exists(partition)).isFalse();
+    }
+
+    @Test
+    void partitionDetachedByAnEarlierRunIsStillDropped() {
+        String partition = createAuditPartition(YearMonth.now().minusMonths(31));
+        runInTransaction(() -> jdbcTemplate.execute("ALTER TABLE audit_log DETACH PARTITION " + partition));
+
+        partitionMaintenanceJob.maintainPartitions();
+
+        assertThat(exists(partition)).isFalse();
+    }
+
+    @Test
+    void partitionWithinRetentionIsKept() {
+        String partition = createAuditPartition(YearMonth.now().minusMonths(23));
+
+        partitionMaintenanceJob.maintainPartitions();
+
+        assertThat(exists(partition)).isTrue();
+        assertThat(inTransaction(() -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_inherits "
+                + "WHERE inhrelid = to_regclass(?)", Long.class, partition))).isEqualTo(1);
+    }
+
+    private String createAuditPartition(YearMonth month) {
+        LocalDate monthStart = month.atDay(1);
+        runInTransaction(() -> jdbcTemplate.queryForObject("SELECT create_audit_log_partition(?)", String.class,
+                monthStart));
+        return "audit_log_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private boolean exists(String table) {
+        return inTransaction(() -> jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                table));
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private void runInTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+}
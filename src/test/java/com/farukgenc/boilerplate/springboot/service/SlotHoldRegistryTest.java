@@ -0,0 +1,161 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.configuration.AvailabilityProperties;
+import com.farukgenc.boilerplate.springboot.repository.projection.AppointmentInterval;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Holds expire on their own, and guests can neither flood the registry with
+ * requests nor keep a whole professional-day held.
+ */
+class SlotHoldRegistryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 2);
+
+    private static final UUID PROFESSIONAL = UUID.randomUUID();
+
+    private final AvailabilityProperties properties = new AvailabilityProperties();
+
+    private SlotHoldRegistry registry;
+
+    @AfterEach
+    void shutdown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void expiredHoldFreesItsInterval() throws InterruptedException {
+        registry = registry(Duration.ofMillis(100));
+        SlotHold hold = hold(registry, 10, "client-a").orElseThrow();
+        assertThat(occupancy(registry).overlaps(hold.startTime(), hold.endTime())).isTrue();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (occupancy(registry).size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(occupancy(registry).size()).isZero();
+        assertThat(hold(registry, 10, "client-b")).isPresent();
+    }
+
+    @Test
+    void holdLivesForItsLifetime() {
+        registry = registry(Duration.ofMinutes(10));
+        SlotHold hold = hold(registry, 10, "client-a").orElseThrow();
+
+        assertThat(hold.expiresAt()).isAfter(LocalDateTime.now().plusMinutes(9));
+        assertThat(occupancy(registry).size()).isEqualTo(1);
+    }
+
+    @Test
+    void overlappingHoldOrBookingIsNotPlaced() {
+        registry = registry(Duration.ofMinutes(10));
+        assertThat(hold(registry, 10, "client-a")).isPresent();
+
+        assertThat(hold(registry, 10, "client-b")).isEmpty();
+
+        DayOccupancy booked = DayOccupancy.of(List.of(
+                new AppointmentInterval(PROFESSIONAL, at(11), at(12))));
+        assertThat(registry.hold(PROFESSIONAL, at(11), at(11).plusMinutes(30), booked, "client-b")).isEmpty();
+    }
+
+    @Test
+    void holdIsHiddenOnlyFromItsOwner() {
+        registry = registry(Duration.ofMinutes(10));
+        SlotHold hold = hold(registry, 10, "client-a").orElseThrow();
+
+        assertThat(registry.withHolds(PROFESSIONAL, DATE, DayOccupancy.EMPTY, hold.token()).size()).isZero();
+        assertThat(registry.withHolds(PROFESSIONAL, DATE.plusDays(1), DayOccupancy.EMPTY, null).size()).isZero();
+    }
+
+    @Test
+    void clientMayOwnOnlyAFewLiveHolds() {
+        properties.setMaxHoldsPerClient(2);
+        registry = registry(Duration.ofMinutes(10));
+        hold(registry, 9, "client-a").orElseThrow();
+        SlotHold second = hold(registry, 10, "client-a").orElseThrow();
+
+        assertTooManyRequests(() -> hold(registry, 11, "client-a"));
+        assertThat(hold(registry, 11, "client-b")).isPresent();
+
+        registry.release(second.token());
+        assertThat(hold(registry, 12, "client-a")).isPresent();
+    }
+
+    @Test
+    void rejectedHoldDoesNotCountAgainstTheClient() {
+        properties.setMaxHoldsPerClient(1);
+        registry = registry(Duration.ofMinutes(10));
+        hold(registry, 10, "client-a").orElseThrow();
+
+        assertThat(hold(registry, 10, "client-b")).isEmpty();
+
+        assertThat(hold(registry, 11, "client-b")).isPresent();
+    }
+
+    @Test
+    void professionalDayAcceptsOnlyAFewHolds() {
+        properties.setMaxHoldsPerProfessionalDay(2);
+        registry = registry(Duration.ofMinutes(10));
+        hold(registry, 9, "client-a").orElseThrow();
+        SlotHold second = hold(registry, 10, "client-b").orElseThrow();
+
+        assertTooManyRequests(() -> hold(registry, 11, "client-c"));
+        assertThat(registry.hold(PROFESSIONAL, DATE.plusDays(1).atTime(11, 0), DATE.plusDays(1).atTime(11, 30),
+                DayOccupancy.EMPTY, "client-c")).isPresent();
+
+        registry.release(second.token());
+        assertThat(hold(registry, 11, "client-d")).isPresent();
+    }
+
+    @Test
+    void clientIsRateLimitedPerMinute() {
+        properties.setHoldRequestsPerMinute(3);
+        registry = registry(Duration.ofMinutes(10));
+        for (int i = 0; i < 3; i++) {
+            registry.countAttempt("client-a");
+        }
+
+        assertTooManyRequests(() -> registry.countAttempt("client-a"));
+        registry.countAttempt("client-b");
+    }
+
+    private SlotHoldRegistry registry(Duration ttl) {
+        return new SlotHoldRegistry(properties, new SimpleMeterRegistry(), ttl, Duration.ofMillis(10));
+    }
+
+    private static Optional<SlotHold> hold(SlotHoldRegistry registry, int hour, String client) {
+        return registry.hold(PROFESSIONAL, at(hour), at(hour).plusMinutes(30), DayOccupancy.EMPTY, client);
+    }
+
+    private static DayOccupancy occupancy(SlotHoldRegistry registry) {
+        return registry.withHolds(PROFESSIONAL, DATE, DayOccupancy.EMPTY, null);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DATE.atTime(hour, 0);
+    }
+
+    private static void assertTooManyRequests(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+    }
+
+}
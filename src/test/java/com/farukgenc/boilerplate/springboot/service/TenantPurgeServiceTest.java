@@ -0,0 +1,217 @@
+package com.farukgenc.boilerplate.springboot.service;
+
+import com.farukgenc.boilerplate.springboot.PostgresIntegrationTest;
+import com.farukgenc.boilerplate.springboot.model.Appointment;
+import com.farukgenc.boilerplate.springboot.model.AppointmentStatus;
+import com.farukgenc.boilerplate.springboot.model.BusinessService;
+import com.farukgenc.boilerplate.springboot.model.Company;
+import com.farukgenc.boilerplate.springboot.model.Customer;
+import com.farukgenc.boilerplate.springboot.model.Professional;
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeJob;
+import com.farukgenc.boilerplate.springboot.model.TenantPurgeStatus;
+import com.farukgenc.boilerplate.springboot.model.UserAccount;
+import com.farukgenc.boilerplate.springboot.repository.AppointmentRepository;
+import com.farukgenc.boilerplate.springboot.repository.BusinessServiceRepository;
+import com.farukgenc.boilerplate.springboot.repository.CompanyRepository;
+import com.farukgenc.boilerplate.springboot.repository.CustomerRepository;
+import com.farukgenc.boilerplate.springboot.repository.ProfessionalRepository;
+import com.farukgenc.boilerplate.springboot.repository.TenantPurgeJobRepository;
+import com.farukgenc.boilerplate.springboot.repository.UserAccountRepository;
+import com.farukgenc.boilerplate.springboot.security.dto.CreateCustomerRequest;
+import com.farukgenc.boilerplate.springboot.security.dto.CreateProfessionalRequest;
+import com.farukgenc.boilerplate.springboot.security.dto.SlotHoldRequest;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes that arrive while a company is being purged must not leave rows the
+ * purge cannot delete, which would end the job FAILED with half the tenant gone.
+ */
+@TestPropertySource(properties = { "purge.chunk-size=1", "purge.chunk-pause-millis=300",
+        "purge.resume-interval-millis=3600000" })
+class TenantPurgeServiceTest extends PostgresIntegrationTest {
+
+    private static final Duration PURGE_TIMEOUT = Duration.ofSeconds(60);
+
+    @Autowired
+    private TenantPurgeService tenantPurgeService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ProfessionalService professionalService;
+
+    @Autowired
+    private BusinessServiceService businessServiceService;
+
+    @Autowired
+    private TenantPurgeJobRepository tenantPurgeJobRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ProfessionalRepository professionalRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BusinessServiceRepository businessServiceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void writesArrivingMidPurgeAreRejected() throws InterruptedException {
+        Tenant tenant = createTenant(true);
+
+        TenantPurgeJob job = tenantPurgeService.startPurge(tenant.companyId());
+
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(15, 0);
+        assertForbidden(() -> appointmentService.createAppointment(tenant.companyId(), tenant.professionalId(),
+                tenant.serviceId(), tenant.customerId(), start, start.plusMinutes(30)));
+        assertForbidden(() -> appointmentService.holdGuestSlot(tenant.companyId(),
+                slotHoldRequest(tenant, start), "198.51.100.7"));
+        assertForbidden(() -> customerService.createFromRequest(customerRequest(), tenant.companyId()));
+        assertForbidden(() -> professionalService.create(professionalRequest(), tenant.companyId()));
+        assertForbidden(() -> businessServiceService.create(BusinessService.builder()
+                .companyId(tenant.companyId())
+                .name("Late service")
+                .price(BigDecimal.ONE)
+                .durationMinutes(15)
+                .build()));
+
+        assertThat(awaitFinished(job.getId()).getStatus()).isEqualTo(TenantPurgeStatus.COMPLETED);
+        assertThat(companyRepository.existsById(tenant.companyId())).isFalse();
+    }
+
+    @Test
+    void resumedPurgeDeletesAppointmentsLeftBeforeTheParentTables() throws InterruptedException {
+        Tenant tenant = createTenant(false);
+        // Interrupted after the appointment step, with an appointment added since by a path
+        // that does not check the company
+        TenantPurgeJob job = tenantPurgeJobRepository.save(TenantPurgeJob.builder()
+                .companyId(tenant.companyId())
+                .status(TenantPurgeStatus.PENDING)
+                .currentStep(TenantPurgeService.Step.CUSTOMER.name())
+                .build());
+
+        tenantPurgeService.resumeAbandonedJobs();
+
+        TenantPurgeJob finished = awaitFinished(job.getId());
+        assertThat(finished.getError()).isNull();
+        assertThat(finished.getStatus()).isEqualTo(TenantPurgeStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointment WHERE company_id = ?",
+                Integer.class, tenant.companyId())).isZero();
+        assertThat(companyRepository.existsById(tenant.companyId())).isFalse();
+    }
+
+    private record Tenant(UUID companyId, UUID professionalId, UUID serviceId, UUID customerId) {
+    }
+
+    private Tenant createTenant(boolean active) {
+        UUID companyId = companyRepository.save(Company.builder()
+                .legalName("Purge Test")
+                .slug("purge-test-" + UUID.randomUUID())
+                .active(active)
+                .build()).getId();
+        Professional professional = professionalRepository.save(Professional.builder()
+                .companyId(companyId)
+                .userAccount(userAccountRepository.save(UserAccount.builder()
+                        .email("pro-" + UUID.randomUUID() + "@test.local")
+                        .password("not-a-real-hash")
+                        .fullName("Pro")
+                        .build()))
+                .build());
+        BusinessService service = businessServiceRepository.save(BusinessService.builder()
+                .companyId(companyId)
+                .name("Haircut")
+                .price(BigDecimal.TEN)
+                .durationMinutes(30)
+                .build());
+        Customer customer = customerRepository.save(Customer.builder()
+                .companyId(companyId)
+                .fullName("Customer")
+                .email("customer-" + UUID.randomUUID() + "@test.local")
+                .build());
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(10, 0);
+        appointmentRepository.save(Appointment.builder()
+                .companyId(companyId)
+                .professional(professional)
+                .service(service)
+                .customer(customer)
+                .startTime(start)
+                .endTime(start.plusMinutes(30))
+                .status(AppointmentStatus.SCHEDULED)
+                .build());
+        return new Tenant(companyId, professional.getId(), service.getId(), customer.getId());
+    }
+
+    private TenantPurgeJob awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + PURGE_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            TenantPurgeJob job = tenantPurgeService.findJob(jobId);
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Purge job " + jobId + " did not finish within " + PURGE_TIMEOUT);
+    }
+
+    private static void assertForbidden(ThrowingCallable write) {
+        assertThatThrownBy(write)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+
+    private static SlotHoldRequest slotHoldRequest(Tenant tenant, LocalDateTime start) {
+        SlotHoldRequest request = new SlotHoldRequest();
+        request.setProfessionalId(tenant.professionalId());
+        request.setServiceId(tenant.serviceId());
+        request.setAppointmentTime(start);
+        return request;
+    }
+
+    private static CreateCustomerRequest customerRequest() {
+        CreateCustomerRequest request = new CreateCustomerRequest();
+        request.setFullName("Late Customer");
+        request.setEmail("late-" + UUID.randomUUID() + "@test.local");
+        request.setPhoneNumber("555-0100");
+        return request;
+    }
+
+    private static CreateProfessionalRequest professionalRequest() {
+        CreateProfessionalRequest request = new CreateProfessionalRequest();
+        request.setFullName("Late Professional");
+        request.setEmail("late-pro-" + UUID.randomUUID() + "@test.local");
+        request.setPhoneNumber("555-0100");
+        return request;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.farukgenc.boilerplate.springboot.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Timeouts fire on the ticker thread no earlier than their delay, also when
+ * the delay spans several revolutions of the wheel.
+ */
+class HashedTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    // Generous, so a loaded build machine does not fail the test
+    private static final long AWAIT_SECONDS = 5;
+
+    private HashedTimingWheel wheel;
+
+    @AfterEach
+    void stopWheel() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+    }
+
+    @Test
+    void timeoutFiresOnceItsDelayHasPassed() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", TICK, 8);
+        Duration delay = Duration.ofMillis(100);
+        CountDownLatch fired = new CountDownLatch(1);
+        long[] firedAfterNanos = new long[1];
+
+        long scheduledAt = System.nanoTime();
+        wheel.schedule(() -> {
+            firedAfterNanos[0] = System.nanoTime() - scheduledAt;
+            fired.countDown();
+        }, delay);
+
+        assertThat(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAfterNanos[0]).isGreaterThanOrEqualTo(delay.toNanos());
+    }
+
+    @Test
+    void timeoutSeveralRevolutionsAwayWaitsForItsRound() throws InterruptedException {
+        // One revolution is 40 ms, so the bucket of a 150 ms timeout comes round three times first
+        wheel = new HashedTimingWheel("test-wheel", TICK, 4);
+        Duration delay = Duration.ofMillis(150);
+        CountDownLatch fired = new CountDownLatch(1);
+        long[] firedAfterNanos = new long[1];
+
+        long scheduledAt = System.nanoTime();
+        wheel.schedule(() -> {
+            firedAfterNanos[0] = System.nanoTime() - scheduledAt;
+            fired.countDown();
+        }, delay);
+
+        assertThat(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAfterNanos[0]).isGreaterThanOrEqualTo(delay.toNanos());
+    }
+
+    @Test
+    void timeoutsFireInDeadlineOrder() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", TICK, 8);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+
+        wheel.schedule(() -> {
+            order.add(3);
+            fired.countDown();
+        }, Duration.ofMillis(150));
+        wheel.schedule(() -> {
+            order.add(1);
+            fired.countDown();
+        }, Duration.ofMillis(30));
+        wheel.schedule(() -> {
+            order.add(2);
+            fired.countDown();
+        }, Duration.ofMillis(90));
+
+        assertThat(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", TICK, 8);
+        CountDownLatch fired = new CountDownLatch(1);
+
+        wheel.schedule(() -> {
+            throw new IllegalStateException("expected by the test");
+        }, Duration.ZERO);
+        wheel.schedule(fired::countDown, Duration.ofMillis(50));
+
+        assertThat(fired.await(AWAIT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void stoppedWheelRunsNothing() throws InterruptedException {
+        wheel = new HashedTimingWheel("test-wheel", TICK, 8);
+        CountDownLatch fired = new CountDownLatch(1);
+
+        wheel.schedule(fired::countDown, Duration.ofMillis(50));
+        wheel.stop();
+
+        assertThat(fired.await(200, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void ticksPerWheelMustBeAPowerOfTwo() {
+        assertThatThrownBy(() -> new HashedTimingWheel("test-wheel", TICK, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}